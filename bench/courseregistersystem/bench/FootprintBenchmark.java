@@ -0,0 +1,236 @@
+/**
+ * File: FootprintBenchmark.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a FootprintBenchmark class, it measures the retained heap of the entries the pages hold.
+ * The entries are built with the value distributions of SyntheticDatabase, once in the former layout with text
+ * timestamps, text states and a copy of every value per row, and once as the current CourseEntry, UserEntry and
+ * RosterRow.
+ */
+
+package courseregistersystem.bench;
+
+import courseregistersystem.main.model.CourseEntry;
+import courseregistersystem.main.model.RosterRow;
+import courseregistersystem.main.model.TimeFormat;
+import courseregistersystem.main.model.UserEntry;
+
+import java.util.function.IntFunction;
+
+public class FootprintBenchmark {
+
+	public static final int DEFAULT_ENTRIES = 100000;
+
+	private static final String TIME_TEXT = TimeFormat.format(SyntheticDatabase.TIMESTAMP);
+
+	/**
+	 * Build the entries in both layouts and print the bytes per entry.
+	 * <p>
+	 * The optional argument is the number of entries of each kind. Run it with
+	 * -XX:+UseSerialGC for steady numbers.
+	 *
+	 * @param args the number of entries
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		int entries = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ENTRIES;
+
+		System.out.println("Retained heap of " + entries + " entries, in bytes per entry:");
+		report("CourseEntry", measure(entries, FootprintBenchmark::legacyCourse),
+				measure(entries, FootprintBenchmark::course));
+		report("UserEntry", measure(entries, FootprintBenchmark::legacyUser), measure(entries, FootprintBenchmark::user));
+		report("RosterRow", measure(entries, FootprintBenchmark::legacyUser),
+				measure(entries, FootprintBenchmark::rosterRow));
+	}
+
+	/**
+	 * Returns the retained heap of the entries built by a factory, in bytes per
+	 * entry.
+	 * <p>
+	 * It includes the reference of each entry in the holding array, like the
+	 * list of a table model.
+	 *
+	 * @param entries the number of entries
+	 * @param factory it builds the entry of a row
+	 * @return bytes per entry
+	 */
+	private static double measure(int entries, IntFunction<Object> factory) throws InterruptedException {
+		long before = usedHeap();
+		Object[] rows = new Object[entries];
+		for (int i = 0; i < entries; i++) {
+			rows[i] = factory.apply(i);
+		}
+		long after = usedHeap();
+		if (rows[entries - 1] == null) {
+			throw new IllegalStateException("The entries were not built");
+		}
+		return (double) (after - before) / entries;
+	}
+
+	/**
+	 * Returns the used heap after the garbage is collected.
+	 *
+	 * @return used bytes
+	 */
+	private static long usedHeap() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			Thread.sleep(50);
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
+
+	/**
+	 * Print the line of one kind of entry.
+	 *
+	 * @param name    the name of the entry
+	 * @param legacy  bytes per entry in the former layout
+	 * @param current bytes per entry in the current layout
+	 */
+	private static void report(String name, double legacy, double current) {
+		System.out.println(String.format("  %-12s before %7.1f  after %7.1f  saved %5.1f%%", name, legacy, current,
+				100 * (legacy - current) / legacy));
+	}
+
+	/**
+	 * Returns a fresh copy of a value, like the String decoded from a column of
+	 * a row.
+	 *
+	 * @param value the value
+	 * @return the copy
+	 */
+	private static String column(String value) {
+		return new String(value);
+	}
+
+	/**
+	 * Returns the current CourseEntry of a row.
+	 *
+	 * @param c the index of the row
+	 * @return CourseEntry
+	 */
+	private static Object course(int c) {
+		return new CourseEntry(c + 1, "Course " + c, String.valueOf(2 + c % 3), column(c % 2 == 0 ? "Online" : "Ground"),
+				c % 50 + 1, "Building " + c % 20, SyntheticDatabase.TIMESTAMP, SyntheticDatabase.TIMESTAMP,
+				String.valueOf(c % 3), SyntheticDatabase.TIMESTAMP);
+	}
+
+	/**
+	 * Returns the former CourseEntry of a row.
+	 *
+	 * @param c the index of the row
+	 * @return LegacyCourseEntry
+	 */
+	private static Object legacyCourse(int c) {
+		return new LegacyCourseEntry(c + 1, "Course " + c, String.valueOf(2 + c % 3),
+				column(c % 2 == 0 ? "Online" : "Ground"), c % 50 + 1, "Building " + c % 20, column(TIME_TEXT),
+				column(TIME_TEXT), String.valueOf(c % 3), column(TIME_TEXT));
+	}
+
+	/**
+	 * Returns the current UserEntry of a row.
+	 *
+	 * @param u the index of the row
+	 * @return UserEntry
+	 */
+	private static Object user(int u) {
+		String name = "student" + u;
+		return new UserEntry(u + 1, name, column("1234"), name + "@example.com", column("Student"), "First" + u,
+				"Last" + u, u + " Main Street", column("2000-01-01"), SyntheticDatabase.TIMESTAMP,
+				SyntheticDatabase.TIMESTAMP, String.valueOf(u % 3), SyntheticDatabase.TIMESTAMP);
+	}
+
+	/**
+	 * Returns the RosterRow of a row, the roster used to hold a UserEntry.
+	 *
+	 * @param u the index of the row
+	 * @return RosterRow
+	 */
+	private static Object rosterRow(int u) {
+		String name = "student" + u;
+		return new RosterRow(u + 1, name, name + "@example.com", String.valueOf(u % 3), SyntheticDatabase.TIMESTAMP);
+	}
+
+	/**
+	 * Returns the former UserEntry of a row.
+	 *
+	 * @param u the index of the row
+	 * @return LegacyUserEntry
+	 */
+	private static Object legacyUser(int u) {
+		String name = "student" + u;
+		return new LegacyUserEntry(u + 1, name, column("1234"), name + "@example.com", column("Student"), "First" + u,
+				"Last" + u, u + " Main Street", column("2000-01-01"), column(TIME_TEXT), column(TIME_TEXT),
+				String.valueOf(u % 3), column(TIME_TEXT));
+	}
+
+	/**
+	 * The fields of CourseEntry before the compact layout.
+	 */
+	static class LegacyCourseEntry {
+		final long id;
+		String courseName;
+		String courseHours;
+		String courseType;
+		long instructorId;
+		String building;
+		String createTime;
+		String updateTime;
+		String actionState;
+		String actionCreateTime;
+
+		LegacyCourseEntry(long _id, String _courseName, String _courseHours, String _courseType, long _instructorId,
+				String _building, String _createTime, String _updateTime, String _actionState,
+				String _actionCreateTime) {
+			id = _id;
+			courseName = _courseName;
+			courseHours = _courseHours;
+			courseType = _courseType;
+			instructorId = _instructorId;
+			building = _building;
+			createTime = _createTime;
+			updateTime = _updateTime;
+			actionState = _actionState;
+			actionCreateTime = _actionCreateTime;
+		}
+	}
+
+	/**
+	 * The fields of UserEntry before the compact layout.
+	 */
+	static class LegacyUserEntry {
+		final long id;
+		String userName;
+		String password;
+		String email;
+		String role;
+		String firstName;
+		String lastName;
+		String address;
+		String birthday;
+		String createTime;
+		String updateTime;
+		String actionState;
+		String actionCreateTime;
+
+		LegacyUserEntry(long _id, String _userName, String _password, String _email, String _role, String _firstName,
+				String _lastName, String _address, String _birthday, String _createTime, String _updateTime,
+				String _actionState, String _actionCreateTime) {
+			id = _id;
+			userName = _userName;
+			password = _password;
+			email = _email;
+			role = _role;
+			firstName = _firstName;
+			lastName = _lastName;
+			address = _address;
+			birthday = _birthday;
+			createTime = _createTime;
+			updateTime = _updateTime;
+			actionState = _actionState;
+			actionCreateTime = _actionCreateTime;
+		}
+	}
+}
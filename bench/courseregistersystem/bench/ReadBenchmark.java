@@ -0,0 +1,140 @@
+/**
+ * File: ReadBenchmark.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a ReadBenchmark class, the JMH benchmarks of the queries of SqliteDatabase.
+ * Every query runs against a seeded database at each scale and reports the throughput and the
+ * latency percentiles.
+ */
+
+package courseregistersystem.bench;
+
+import courseregistersystem.main.database.SqliteDatabase;
+import courseregistersystem.main.model.CatalogRow;
+import courseregistersystem.main.model.CourseEntry;
+import courseregistersystem.main.model.MyCourseRow;
+import courseregistersystem.main.model.PageCursor;
+import courseregistersystem.main.model.RosterRow;
+import courseregistersystem.main.model.SortKey;
+import courseregistersystem.main.model.UserEntry;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadBenchmark {
+
+	// The page size of the tables
+	private static final int PAGE_SIZE = 100;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int enrollments;
+
+	private SyntheticDatabase synthetic;
+	private SqliteDatabase database;
+	private SplittableRandom random;
+
+	/**
+	 * Seed the database of this scale and open it.
+	 */
+	@Setup
+	public void setUp() throws IOException, SQLException {
+		synthetic = new SyntheticDatabase(enrollments);
+		database = SqliteDatabase.open(SyntheticDatabase.config(synthetic.seed()));
+		random = new SplittableRandom(42);
+	}
+
+	/**
+	 * Close the database.
+	 */
+	@TearDown
+	public void tearDown() {
+		database.close();
+	}
+
+	@Benchmark
+	public long userLogin() {
+		Map<String, String> form = new HashMap<>();
+		form.put("username", SyntheticDatabase.studentName(random.nextInt(synthetic.getStudents())));
+		form.put("password", SyntheticDatabase.PASSWORD);
+		return database.userLogin(form);
+	}
+
+	@Benchmark
+	public UserEntry getUser() {
+		return database.getUser(synthetic.studentId(random.nextInt(synthetic.getStudents())));
+	}
+
+	@Benchmark
+	public CourseEntry getCourse() {
+		return database.getCourse(randomCourseId());
+	}
+
+	@Benchmark
+	public List<CatalogRow> getCourseListPage() {
+		return database.getCourseList(synthetic.studentId(random.nextInt(synthetic.getStudents())), SortKey.ID,
+				false, null, 0, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<MyCourseRow> getStudentCourseListPage() {
+		return database.getStudentCourseList(synthetic.studentId(random.nextInt(synthetic.getStudents())), SortKey.ID,
+				false, null, 0, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<MyCourseRow> getInstructorCourseListPage() {
+		return database.getInstructorCourseList(synthetic.instructorId(random.nextInt(synthetic.getInstructors())),
+				SortKey.ID, false, null, 0, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<RosterRow> getUserListByCourseIdPage() {
+		return database.getUserListByCourseId(randomCourseId(), SortKey.ID, false, null, 0, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<CatalogRow> getCourseListPageByName() {
+		// A page deep in the catalog, after a random course
+		int course = random.nextInt(synthetic.getCourses());
+		return database.getCourseList(synthetic.studentId(random.nextInt(synthetic.getStudents())), SortKey.NAME,
+				false, new PageCursor("Course " + course, course + 1), 0, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<RosterRow> getUserListByCourseIdPageByRequestTime() {
+		return database.getUserListByCourseId(randomCourseId(), SortKey.REQUEST_TIME, true, null, 0, PAGE_SIZE);
+	}
+
+	/**
+	 * Returns the id of a random course.
+	 *
+	 * @return the course's id
+	 */
+	private long randomCourseId() {
+		return random.nextInt(synthetic.getCourses()) + 1;
+	}
+}
@@ -0,0 +1,295 @@
+/**
+ * File: SyntheticDatabase.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a SyntheticDatabase class, it seeds a database file with a fixed number of enrollments
+ * for the benchmarks. The ids follow from the scale, so a benchmark picks valid ids without querying.
+ */
+
+package courseregistersystem.bench;
+
+import courseregistersystem.main.database.DatabaseConfig;
+import courseregistersystem.main.database.SqliteDatabase;
+import courseregistersystem.main.model.EnrollmentState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+public class SyntheticDatabase {
+
+	public static final String DATA_DIR = "bench-data";
+	public static final String PASSWORD = "1234";
+	public static final int COURSES_PER_STUDENT = 10;
+	public static final int COURSES_PER_INSTRUCTOR = 5;
+
+	// 2026-10-18 00:00:00 UTC in epoch milliseconds
+	public static final long TIMESTAMP = 1792281600000L;
+	private static final int BATCH_SIZE = 10000;
+
+	private final int enrollments;
+	private final int students;
+	private final int courses;
+	private final int instructors;
+
+	/**
+	 * This is the constructor of SyntheticDatabase.
+	 * <p>
+	 * Every student requests or enrolls COURSES_PER_STUDENT courses, there are
+	 * about 1000 students per course at the largest scale.
+	 *
+	 * @param _enrollments the number of rows in enrollmentTable
+	 */
+	public SyntheticDatabase(int _enrollments) {
+		students = Math.max(1, _enrollments / COURSES_PER_STUDENT);
+		enrollments = students * COURSES_PER_STUDENT;
+		courses = Math.max(COURSES_PER_STUDENT, _enrollments / 1000);
+		instructors = Math.max(1, courses / COURSES_PER_INSTRUCTOR);
+	}
+
+	/**
+	 * Returns the path of the seeded database, seeding it on the first call.
+	 * <p>
+	 * A file from an earlier run is reused when it has the same number of
+	 * enrollments.
+	 *
+	 * @return the path of the database file
+	 */
+	public Path seed() throws IOException, SQLException {
+		Path file = Paths.get(DATA_DIR, "enrollments-" + enrollments + ".db");
+		Files.createDirectories(file.getParent());
+		if (Files.exists(file)) {
+			SqliteDatabase database = SqliteDatabase.open(config(file));
+			try {
+				if (countEnrollments(database) == enrollments) {
+					return file;
+				}
+			} finally {
+				database.close();
+			}
+			delete(file);
+		}
+
+		System.out.println("Seeding " + file + " with " + enrollments + " enrollments");
+		SqliteDatabase database = SqliteDatabase.open(config(file));
+		try {
+			insertRows(database);
+		} finally {
+			database.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Returns a copy of the seeded database, the write benchmarks change it
+	 * freely.
+	 *
+	 * @param name the suffix of the copy
+	 * @return the path of the copy
+	 */
+	public Path copy(String name) throws IOException, SQLException {
+		Path source = seed();
+		Path file = Paths.get(DATA_DIR, "enrollments-" + enrollments + "-" + name + ".db");
+		delete(file);
+		Files.copy(source, file, StandardCopyOption.REPLACE_EXISTING);
+		return file;
+	}
+
+	/**
+	 * Returns the settings of a benchmark database.
+	 *
+	 * @param file the database file
+	 * @return DatabaseConfig
+	 */
+	public static DatabaseConfig config(Path file) {
+		Properties properties = new Properties();
+		properties.setProperty("database.url", "jdbc:sqlite:" + file);
+		return new DatabaseConfig(properties, "bench");
+	}
+
+	/**
+	 * Insert the users, the courses and the enrollments in one transaction.
+	 *
+	 * @param database the empty database
+	 */
+	private void insertRows(SqliteDatabase database) throws SQLException {
+		database.inTransaction(transaction -> {
+			// Students come first, so the rowid of student i is i + 1
+			PreparedStatement users = transaction.prepareStatement(
+					"INSERT INTO userTable (user_name, password, email, role, first_name, last_name, address, birthday, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?);");
+			for (int i = 0; i < students + instructors; i++) {
+				boolean isStudent = i < students;
+				String name = isStudent ? studentName(i) : "teacher" + (i - students);
+				users.setString(1, name);
+				users.setString(2, PASSWORD);
+				users.setString(3, name + "@example.com");
+				users.setString(4, isStudent ? "Student" : "Instructor");
+				users.setString(5, "First" + i);
+				users.setString(6, "Last" + i);
+				users.setString(7, i + " Main Street");
+				users.setString(8, "2000-01-01");
+				users.setLong(9, TIMESTAMP);
+				users.setLong(10, TIMESTAMP);
+				addBatch(users, i);
+			}
+			users.executeBatch();
+
+			PreparedStatement courseRows = transaction.prepareStatement(
+					"INSERT INTO courseTable (course_name, course_hours, course_type, instructor_id, course_building, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?, ?);");
+			for (int c = 0; c < courses; c++) {
+				courseRows.setString(1, "Course " + c);
+				courseRows.setString(2, String.valueOf(2 + c % 3));
+				courseRows.setString(3, c % 2 == 0 ? "Online" : "Ground");
+				courseRows.setLong(4, instructorId(c % instructors));
+				courseRows.setString(5, "Building " + c % 20);
+				courseRows.setLong(6, TIMESTAMP);
+				courseRows.setLong(7, TIMESTAMP);
+				addBatch(courseRows, c);
+			}
+			courseRows.executeBatch();
+
+			PreparedStatement enrollmentRows = transaction.prepareStatement(
+					"INSERT INTO enrollmentTable (student_id, course_id, state, action_create_time) VALUES (?, ?, ?, ?);");
+			int count = 0;
+			for (int s = 0; s < students; s++) {
+				for (int k = 0; k < COURSES_PER_STUDENT; k++) {
+					enrollmentRows.setLong(1, studentId(s));
+					enrollmentRows.setLong(2, courseId(s, k));
+					// The last course of every student is still pending
+					enrollmentRows.setInt(3,
+							k == COURSES_PER_STUDENT - 1 ? EnrollmentState.REQUESTED : EnrollmentState.ENROLLED);
+					enrollmentRows.setLong(4, TIMESTAMP);
+					addBatch(enrollmentRows, count++);
+				}
+			}
+			enrollmentRows.executeBatch();
+			return null;
+		});
+	}
+
+	/**
+	 * Add the current parameters to the batch and flush every BATCH_SIZE rows.
+	 *
+	 * @param statement the statement of the batch
+	 * @param index     the index of the row
+	 */
+	private static void addBatch(PreparedStatement statement, int index) throws SQLException {
+		statement.addBatch();
+		if ((index + 1) % BATCH_SIZE == 0) {
+			statement.executeBatch();
+		}
+	}
+
+	/**
+	 * Returns the number of rows in enrollmentTable.
+	 *
+	 * @param database the database
+	 * @return the number of enrollments
+	 */
+	private static long countEnrollments(SqliteDatabase database) throws SQLException {
+		return database.inTransaction(transaction -> {
+			try (ResultSet resultSet = transaction.prepareStatement("SELECT COUNT(*) FROM enrollmentTable;")
+					.executeQuery()) {
+				return resultSet.next() ? resultSet.getLong(1) : 0L;
+			}
+		});
+	}
+
+	/**
+	 * Delete a database file together with its WAL files.
+	 *
+	 * @param file the database file
+	 */
+	private static void delete(Path file) throws IOException {
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(Paths.get(file + "-wal"));
+		Files.deleteIfExists(Paths.get(file + "-shm"));
+	}
+
+	/**
+	 * Returns the id of the k-th course of a student.
+	 * <p>
+	 * The courses of one student are distinct, and every course gets the same
+	 * number of students.
+	 *
+	 * @param student the index of the student
+	 * @param k       the index of the course of this student
+	 * @return the course's id
+	 */
+	public long courseId(int student, int k) {
+		int stride = courses / COURSES_PER_STUDENT;
+		return (student + k * stride) % courses + 1;
+	}
+
+	/**
+	 * Returns the id of a student.
+	 *
+	 * @param student the index of the student
+	 * @return the student's id
+	 */
+	public long studentId(int student) {
+		return student + 1;
+	}
+
+	/**
+	 * Returns the id of an instructor.
+	 *
+	 * @param instructor the index of the instructor
+	 * @return the instructor's id
+	 */
+	public long instructorId(int instructor) {
+		return students + instructor + 1;
+	}
+
+	/**
+	 * Returns the user name of a student.
+	 *
+	 * @param student the index of the student
+	 * @return the user name
+	 */
+	public static String studentName(int student) {
+		return "student" + student;
+	}
+
+	/**
+	 * Returns the enrollments attribute.
+	 *
+	 * @return enrollments
+	 */
+	public int getEnrollments() {
+		return enrollments;
+	}
+
+	/**
+	 * Returns the students attribute.
+	 *
+	 * @return students
+	 */
+	public int getStudents() {
+		return students;
+	}
+
+	/**
+	 * Returns the courses attribute.
+	 *
+	 * @return courses
+	 */
+	public int getCourses() {
+		return courses;
+	}
+
+	/**
+	 * Returns the instructors attribute.
+	 *
+	 * @return instructors
+	 */
+	public int getInstructors() {
+		return instructors;
+	}
+}
@@ -0,0 +1,202 @@
+/**
+ * File: WriteBenchmark.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a WriteBenchmark class, the JMH benchmarks of the updates of SqliteDatabase.
+ * They run on a copy of the seeded database. Before every call the chosen enrollment is put back
+ * into the state the update expects, outside of the measured time, so every call really writes a row.
+ */
+
+package courseregistersystem.bench;
+
+import courseregistersystem.main.database.SqliteDatabase;
+import courseregistersystem.main.model.EnrollmentState;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteBenchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	public int enrollments;
+
+	private SyntheticDatabase synthetic;
+	private SqliteDatabase database;
+	private SplittableRandom random;
+
+	/**
+	 * One enrollment of the seeded database, put into a state before each call.
+	 */
+	public abstract static class Enrollment {
+		long studentId;
+		long courseId;
+
+		/**
+		 * Pick a random enrollment and set its state.
+		 *
+		 * @param benchmark the benchmark which owns the database
+		 * @param state     the EnrollmentState value expected by the update
+		 */
+		void prepare(WriteBenchmark benchmark, int state) throws SQLException {
+			int student = benchmark.random.nextInt(benchmark.synthetic.getStudents());
+			studentId = benchmark.synthetic.studentId(student);
+			courseId = benchmark.synthetic.courseId(student,
+					benchmark.random.nextInt(SyntheticDatabase.COURSES_PER_STUDENT));
+			benchmark.database.inTransaction(transaction -> {
+				PreparedStatement statement = transaction
+						.prepareStatement("UPDATE enrollmentTable SET state = ? WHERE student_id = ? AND course_id = ?;");
+				statement.setInt(1, state);
+				statement.setLong(2, studentId);
+				statement.setLong(3, courseId);
+				return statement.executeUpdate();
+			});
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class DeclinedEnrollment extends Enrollment {
+		@Setup(Level.Invocation)
+		public void setUp(WriteBenchmark benchmark) throws SQLException {
+			prepare(benchmark, EnrollmentState.DECLINED);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class RequestedEnrollment extends Enrollment {
+		@Setup(Level.Invocation)
+		public void setUp(WriteBenchmark benchmark) throws SQLException {
+			prepare(benchmark, EnrollmentState.REQUESTED);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class EnrolledEnrollment extends Enrollment {
+		@Setup(Level.Invocation)
+		public void setUp(WriteBenchmark benchmark) throws SQLException {
+			prepare(benchmark, EnrollmentState.ENROLLED);
+		}
+	}
+
+	/**
+	 * Every student of a random course, all of them put back to requested
+	 * before each call.
+	 */
+	@State(Scope.Thread)
+	public static class RequestedRoster {
+		long courseId;
+		long[] studentIds;
+
+		@Setup(Level.Invocation)
+		public void setUp(WriteBenchmark benchmark) throws SQLException {
+			courseId = benchmark.random.nextInt(benchmark.synthetic.getCourses()) + 1;
+			studentIds = benchmark.database.inTransaction(transaction -> {
+				PreparedStatement update = transaction
+						.prepareStatement("UPDATE enrollmentTable SET state = ? WHERE course_id = ?;");
+				update.setInt(1, EnrollmentState.REQUESTED);
+				update.setLong(2, courseId);
+				long[] ids = new long[update.executeUpdate()];
+
+				PreparedStatement select = transaction
+						.prepareStatement("SELECT student_id FROM enrollmentTable WHERE course_id = ?;");
+				select.setLong(1, courseId);
+				int count = 0;
+				try (ResultSet resultSet = select.executeQuery()) {
+					while (resultSet.next() && count < ids.length) {
+						ids[count++] = resultSet.getLong(1);
+					}
+				}
+				return Arrays.copyOf(ids, count);
+			});
+		}
+	}
+
+	/**
+	 * Copy the seeded database of this scale and open the copy.
+	 */
+	@Setup
+	public void setUp() throws IOException, SQLException {
+		synthetic = new SyntheticDatabase(enrollments);
+		database = SqliteDatabase.open(SyntheticDatabase.config(synthetic.copy("write")));
+		random = new SplittableRandom(42);
+	}
+
+	/**
+	 * Close the database.
+	 */
+	@TearDown
+	public void tearDown() {
+		database.close();
+	}
+
+	@Benchmark
+	public int registerCourse(DeclinedEnrollment enrollment) {
+		return database.registerCourse(enrollment.studentId, enrollment.courseId);
+	}
+
+	@Benchmark
+	public int approveCourseRequest(RequestedEnrollment enrollment) {
+		return database.approveCourseRequest(enrollment.studentId, enrollment.courseId);
+	}
+
+	@Benchmark
+	public int declineCourseRequest(RequestedEnrollment enrollment) {
+		return database.declineCourseRequest(enrollment.studentId, enrollment.courseId);
+	}
+
+	@Benchmark
+	public int dropCourse(EnrolledEnrollment enrollment) {
+		return database.dropCourse(enrollment.studentId, enrollment.courseId);
+	}
+
+	@Benchmark
+	public long[] approveCourseRequests(RequestedRoster roster) {
+		return database.approveCourseRequests(roster.courseId, roster.studentIds);
+	}
+
+	@Benchmark
+	public int updateUser() {
+		Map<String, String> form = new HashMap<>();
+		form.put("first_name", "First");
+		form.put("last_name", "Last");
+		form.put("address", "1 Main Street");
+		form.put("birthday", "2000-01-01");
+		return database.updateUser(synthetic.studentId(random.nextInt(synthetic.getStudents())), form);
+	}
+
+	@Benchmark
+	public int updateCourse() {
+		Map<String, String> form = new HashMap<>();
+		form.put("course_name", "Course");
+		form.put("course_hours", "3");
+		form.put("course_type", "Online");
+		form.put("course_building", "Building 1");
+		return database.updateCourse(random.nextInt(synthetic.getCourses()) + 1, form);
+	}
+}
@@ -7,19 +7,59 @@
 
 package courseregistersystem.main;
 
+import courseregistersystem.main.database.SqliteDatabase;
 import courseregistersystem.main.ui.*;
 import java.awt.event.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.swing.SwingUtilities;
 
 public class AppDriver {
+
+	// How long closing the window waits for the database worker
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
 	public static void main(String args[]) {
-		
-		GUI pane = new GUI(); // Declare and Instantiate
-		pane.setVisible(true);
-		
-		pane.addWindowListener(new WindowAdapter() { // listening the exit action
-			public void windowClosing(WindowEvent e) {
-				System.exit(0);
-			}
+		StartupTimer startupTimer = new StartupTimer(2);
+
+		// Open the database and migrate its schema on the database worker, the
+		// login waits for it there while the window is built
+		DatabaseWorker.run(() -> {
+			long start = System.nanoTime();
+			SqliteDatabase.instance();
+			startupTimer.record("Open database", start);
+		}).whenComplete((result, error) -> startupTimer.partReady());
+
+		SwingUtilities.invokeLater(() -> {
+			long start = System.nanoTime();
+			GUI pane = new GUI(); // Declare and Instantiate
+			startupTimer.record("Build window", start);
+
+			start = System.nanoTime();
+			pane.setVisible(true);
+			startupTimer.record("Show window", start);
+
+			pane.addWindowListener(new WindowAdapter() { // listening the exit action
+				public void windowClosing(WindowEvent e) {
+					pane.getNotificationManager().dispose();
+					// Close the database on the worker, after the opening and the queued
+					// calls, so the window never blocks on the lock held by the opening
+					try {
+						DatabaseWorker.run(SqliteDatabase::shutdown).get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+					} catch (TimeoutException ex) {
+						System.out.println("Close the database timed out, exiting anyway!");
+					} catch (ExecutionException ex) {
+						// The worker already printed the stack trace
+						System.out.println("Close the database fail!");
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					System.exit(0);
+				}
+			});
+			startupTimer.partReady();
 		});
 	}
 }
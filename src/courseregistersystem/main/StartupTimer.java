@@ -0,0 +1,60 @@
+/**
+ * File: StartupTimer.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a StartupTimer class, it records how long each phase of the startup takes.
+ * The database and the window start in parallel, the report is printed when both are ready.
+ */
+
+package courseregistersystem.main;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StartupTimer {
+
+	private final long mainNanos = System.nanoTime();
+	private final List<String> phases = new ArrayList<>();
+	private int pendingParts;
+
+	/**
+	 * This is the constructor of StartupTimer, it is built first in main().
+	 *
+	 * @param _parts the number of parts which must finish before the report,
+	 *               for example the database and the window
+	 */
+	public StartupTimer(int _parts) {
+		pendingParts = _parts;
+		long jvmMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+		phases.add(String.format("  %-24s %6d ms", "JVM to main", jvmMillis));
+	}
+
+	/**
+	 * Record a phase which started at a time.
+	 * <p>
+	 * It can be called from any thread.
+	 *
+	 * @param phase      the name of the phase
+	 * @param startNanos the System.nanoTime() when the phase started
+	 */
+	public synchronized void record(String phase, long startNanos) {
+		long now = System.nanoTime();
+		phases.add(String.format("  %-24s %6d ms (done at %d ms) [%s]", phase, (now - startNanos) / 1000000,
+				(now - mainNanos) / 1000000, Thread.currentThread().getName()));
+	}
+
+	/**
+	 * Mark a part as ready, the report is printed after the last one.
+	 *
+	 */
+	public synchronized void partReady() {
+		pendingParts--;
+		if (pendingParts == 0) {
+			System.out.println("Startup ready in " + (System.nanoTime() - mainNanos) / 1000000 + " ms:");
+			for (String phase : phases) {
+				System.out.println(phase);
+			}
+		}
+	}
+}
@@ -0,0 +1,279 @@
+/**
+ * File: ConnectionPool.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a ConnectionPool class, a bounded pool of JDBC connections with idle eviction
+ * and leak detection. Connections are borrowed with try-with-resources and returned on close.
+ */
+
+package courseregistersystem.main.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConnectionPool implements AutoCloseable {
+
+	// Default settings of the pool
+	public static final int DEFAULT_MAX_SIZE = 4;
+	public static final long DEFAULT_BORROW_TIMEOUT_MILLIS = 5000;
+	public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60000;
+	public static final long DEFAULT_LEAK_THRESHOLD_MILLIS = 10000;
+	public static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+
+	private static final long MAINTENANCE_INTERVAL_MILLIS = 5000;
+
+	private final String url;
+	private final int maxSize;
+	private final long borrowTimeoutMillis;
+	private final long idleTimeoutMillis;
+	private final long leakThresholdMillis;
+	private final boolean leakTrace;
+	private final int statementCacheSize;
+	private final SqliteTuningProfile tuningProfile;
+	private final SlowQueryLog slowQueryLog;
+
+	private final Semaphore permits;
+	private final LinkedBlockingDeque<PhysicalConnection> idleConnections = new LinkedBlockingDeque<>();
+	private final Set<PooledConnection> borrowedConnections = ConcurrentHashMap.newKeySet();
+	private final AtomicLong statementCacheHits = new AtomicLong();
+	private final AtomicLong statementCacheMisses = new AtomicLong();
+	private final ScheduledExecutorService maintenance;
+	private volatile boolean closed;
+
+	/**
+	 * This is the constructor of ConnectionPool.
+	 * <p>
+	 * The settings come from the config: the maximum number of open connections,
+	 * how long borrow() waits for a free connection, how long a connection may
+	 * stay idle (0 disables eviction), how long a connection may be held before
+	 * it is reported as leaked (0 disables leak detection), whether a leak report
+	 * shows where the connection was borrowed, the size of the statement cache
+	 * and the SQLite tuning profile.
+	 *
+	 * @param config the settings of the database
+	 */
+	public ConnectionPool(DatabaseConfig config) throws SQLException {
+		if (config.getPoolMaxSize() < 1) {
+			throw new IllegalArgumentException("The size of the pool must be at least 1");
+		}
+		url = config.getUrl();
+		maxSize = config.getPoolMaxSize();
+		borrowTimeoutMillis = config.getBorrowTimeoutMillis();
+		idleTimeoutMillis = config.getIdleTimeoutMillis();
+		leakThresholdMillis = config.getLeakThresholdMillis();
+		leakTrace = config.isLeakTrace();
+		statementCacheSize = config.getStatementCacheSize();
+		tuningProfile = new SqliteTuningProfile(config.getPragmas());
+		slowQueryLog = new SlowQueryLog(this, config);
+		permits = new Semaphore(maxSize, true);
+
+		try {
+			Class.forName("org.sqlite.JDBC");
+		} catch (ClassNotFoundException e) {
+			throw new SQLException("The SQLite JDBC driver is not on the classpath", e);
+		}
+
+		maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "connection-pool-maintenance");
+			thread.setDaemon(true);
+			return thread;
+		});
+		maintenance.scheduleWithFixedDelay(this::runMaintenance, MAINTENANCE_INTERVAL_MILLIS,
+				MAINTENANCE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Borrow a connection from the pool.
+	 * <p>
+	 * It blocks until a connection is free or the borrow timeout passes. The
+	 * connection must be closed to return it, preferably with try-with-resources.
+	 *
+	 * @return PooledConnection
+	 */
+	public PooledConnection borrow() throws SQLException {
+		if (closed) {
+			throw new SQLException("The connection pool is closed");
+		}
+		try {
+			if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				throw new SQLException("Timed out waiting for a connection after " + borrowTimeoutMillis + " ms");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a connection", e);
+		}
+
+		try {
+			PhysicalConnection physicalConnection = idleConnections.pollFirst();
+			while (physicalConnection != null && physicalConnection.getConnection().isClosed()) {
+				physicalConnection = idleConnections.pollFirst();
+			}
+			if (physicalConnection == null) {
+				physicalConnection = openConnection();
+			}
+			// Capturing the stack is costly, only the leak trace setting asks for it
+			PooledConnection pooledConnection = new PooledConnection(physicalConnection, this,
+					leakThresholdMillis > 0 && leakTrace);
+			borrowedConnections.add(pooledConnection);
+			return pooledConnection;
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Open a new physical connection.
+	 *
+	 * @return PhysicalConnection
+	 */
+	private PhysicalConnection openConnection() throws SQLException {
+		Connection connection = DriverManager.getConnection(url);
+		try {
+			tuningProfile.apply(connection);
+		} catch (SQLException e) {
+			connection.close();
+			throw e;
+		}
+		StatementCache statementCache = new StatementCache(connection, statementCacheSize, statementCacheHits,
+				statementCacheMisses, slowQueryLog);
+		return new PhysicalConnection(connection, statementCache);
+	}
+
+	/**
+	 * Return a connection to the pool, it is called by PooledConnection.close().
+	 * <p>
+	 * Each borrow is released once, a finished borrow is ignored.
+	 *
+	 * @param pooledConnection the borrow to finish
+	 */
+	void release(PooledConnection pooledConnection) {
+		if (!borrowedConnections.remove(pooledConnection)) {
+			return;
+		}
+		pooledConnection.markReturned();
+		PhysicalConnection physicalConnection = pooledConnection.getPhysicalConnection();
+		physicalConnection.markReturned();
+		boolean reusable = !closed;
+		try {
+			Connection connection = physicalConnection.getConnection();
+			if (connection.isClosed()) {
+				reusable = false;
+			} else if (!connection.getAutoCommit()) {
+				// Never hand out a connection with a half finished transaction
+				connection.rollback();
+				connection.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			e.printStackTrace();
+			System.out.println("Reset pooled connection fail!");
+			reusable = false;
+		}
+
+		if (reusable) {
+			idleConnections.offerFirst(physicalConnection);
+		} else {
+			physicalConnection.close();
+		}
+		permits.release();
+	}
+
+	/**
+	 * Close idle connections and report connections which look leaked.
+	 *
+	 */
+	private void runMaintenance() {
+		long now = System.currentTimeMillis();
+
+		if (idleTimeoutMillis > 0) {
+			// Keep the most recently used connection open so the next borrow stays cheap
+			Iterator<PhysicalConnection> iterator = idleConnections.descendingIterator();
+			while (iterator.hasNext() && idleConnections.size() > 1) {
+				PhysicalConnection physicalConnection = iterator.next();
+				if (now - physicalConnection.getLastUsedMillis() > idleTimeoutMillis
+						&& idleConnections.remove(physicalConnection)) {
+					physicalConnection.close();
+				}
+			}
+		}
+
+		if (leakThresholdMillis > 0) {
+			for (PooledConnection pooledConnection : borrowedConnections) {
+				if (!pooledConnection.isLeakReported()
+						&& now - pooledConnection.getBorrowedAtMillis() > leakThresholdMillis) {
+					pooledConnection.setLeakReported(true);
+					System.out.println("Possible connection leak: held for "
+							+ (now - pooledConnection.getBorrowedAtMillis()) + " ms"
+						+ (leakTrace ? "" : ", set pool.leakTrace=true to see where it was borrowed"));
+					Throwable borrowSite = pooledConnection.getBorrowSite();
+					if (borrowSite != null) {
+						borrowSite.printStackTrace();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the effective settings of the pool and the SQLite tuning profile.
+	 *
+	 * @return the report
+	 */
+	public String reportSettings() throws SQLException {
+		StringBuilder report = new StringBuilder();
+		report.append("Database ").append(url).append("\n");
+		report.append("  pool.maxSize = ").append(maxSize).append(", pool.idleTimeoutMillis = ")
+				.append(idleTimeoutMillis).append(", pool.leakThresholdMillis = ").append(leakThresholdMillis)
+				.append(", pool.leakTrace = ").append(leakTrace)
+				.append(", pool.statementCacheSize = ").append(statementCacheSize).append("\n");
+		try (PooledConnection pooledConnection = borrow()) {
+			report.append(tuningProfile.report(pooledConnection.getConnection()));
+		}
+		return report.toString();
+	}
+
+	/**
+	 * Returns the number of prepared statements served from a cache.
+	 *
+	 * @return statementCacheHits
+	 */
+	public long getStatementCacheHits() {
+		return statementCacheHits.get();
+	}
+
+	/**
+	 * Returns the number of prepared statements which had to be parsed.
+	 *
+	 * @return statementCacheMisses
+	 */
+	public long getStatementCacheMisses() {
+		return statementCacheMisses.get();
+	}
+
+	/**
+	 * Close the pool and every idle connection.
+	 * <p>
+	 * Borrowed connections are closed when they are returned.
+	 */
+	@Override
+	public void close() {
+		// The waiting slow queries still borrow connections for their plans
+		slowQueryLog.close();
+		closed = true;
+		maintenance.shutdownNow();
+		PhysicalConnection physicalConnection;
+		while ((physicalConnection = idleConnections.pollFirst()) != null) {
+			physicalConnection.close();
+		}
+	}
+}
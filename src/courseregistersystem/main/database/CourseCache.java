@@ -0,0 +1,130 @@
+/**
+ * File: CourseCache.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a CourseCache class, a read-through cache of the courses in front of courseTable.
+ * It keeps a LRU map of single courses, a course is invalidated by the method which updates it.
+ */
+
+package courseregistersystem.main.database;
+
+import courseregistersystem.main.model.CourseEntry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class CourseCache {
+
+	public static final int DEFAULT_MAX_SIZE = 1024;
+
+	private final LinkedHashMap<Long, CourseEntry> courses;
+	private long generation;
+	private long hits;
+	private long misses;
+
+	/**
+	 * This is the constructor of CourseCache.
+	 *
+	 * @param _maxSize the maximum number of cached courses
+	 */
+	public CourseCache(int _maxSize) {
+		int maxSize = Math.max(1, _maxSize);
+		// An access ordered map, the eldest entry is the least recently used one
+		courses = new LinkedHashMap<Long, CourseEntry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, CourseEntry> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the current generation, it is passed back to put() after a load.
+	 * <p>
+	 * Every invalidation starts a new generation, so a course loaded before a
+	 * write is never cached after it.
+	 *
+	 * @return generation
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Returns a cached course.
+	 *
+	 * @param id the course's id
+	 * @return the course entity, or null on a miss
+	 */
+	public synchronized CourseEntry get(long id) {
+		CourseEntry course = courses.get(id);
+		if (course == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return course;
+	}
+
+	/**
+	 * Cache a loaded course.
+	 *
+	 * @param course         the course entity
+	 * @param loadGeneration the generation read before the load
+	 */
+	public synchronized void put(CourseEntry course, long loadGeneration) {
+		if (course != null && loadGeneration == generation) {
+			courses.put(course.getId(), course);
+		}
+	}
+
+	/**
+	 * Drop a course after it is updated.
+	 *
+	 * @param id the course's id
+	 */
+	public synchronized void invalidate(long id) {
+		generation++;
+		courses.remove(id);
+	}
+
+	/**
+	 * Returns the number of reads served by the cache.
+	 *
+	 * @return hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of reads which went to the database.
+	 *
+	 * @return misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the share of the reads served by the cache.
+	 *
+	 * @return the hit rate between 0 and 1
+	 */
+	public synchronized double getHitRate() {
+		long total = hits + misses;
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * Returns a one line report of the cache.
+	 *
+	 * @return the report
+	 */
+	public synchronized String report() {
+		return String.format("Course cache: %d courses, %d hits, %d misses, hit rate %.1f%%", courses.size(), hits,
+				misses, getHitRate() * 100);
+	}
+}
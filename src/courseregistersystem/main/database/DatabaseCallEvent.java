@@ -0,0 +1,62 @@
+/**
+ * File: DatabaseCallEvent.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a DatabaseCallEvent class, a JFR event emitted for every operation of SqliteDatabase.
+ * It carries the operation name and the number of rows, so a recording shows which query caused a stall.
+ */
+
+package courseregistersystem.main.database;
+
+import java.util.Collection;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("courseregistersystem.DatabaseCall")
+@Label("Database Call")
+@Category({ "Course Registration", "Database" })
+@Description("An operation of SqliteDatabase")
+@StackTrace(false)
+public class DatabaseCallEvent extends Event {
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Rows")
+	@Description("The rows returned by a query or changed by an update")
+	long rows;
+
+	@Label("Failed")
+	boolean failed;
+
+	/**
+	 * Returns the number of rows of the result of an operation.
+	 *
+	 * @param result the result of the operation
+	 * @return the rows
+	 */
+	static long rowsOf(Object result) {
+		if (result instanceof Collection) {
+			return ((Collection<?>) result).size();
+		}
+		if (result instanceof long[]) {
+			// The ids of the changed rows
+			return ((long[]) result).length;
+		}
+		if (result instanceof Integer) {
+			// The number of changed rows
+			return (Integer) result;
+		}
+		if (result instanceof Long) {
+			// An id, -1 means nothing is found
+			return (Long) result == -1 ? 0 : 1;
+		}
+		// An entity, or null if nothing is found
+		return result == null ? 0 : 1;
+	}
+}
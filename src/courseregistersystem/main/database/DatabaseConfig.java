@@ -0,0 +1,257 @@
+/**
+ * File: DatabaseConfig.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a DatabaseConfig class, it loads the settings of the database from a properties file.
+ * Every setting has a default, so the program also runs without the file.
+ */
+
+package courseregistersystem.main.database;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+public class DatabaseConfig {
+
+	public static final String DEFAULT_PATH = "db/database.properties";
+	public static final String DEFAULT_URL = "jdbc:sqlite:db/courseRegistrationSystem.db";
+
+	private static final String PRAGMA_PREFIX = "sqlite.";
+
+	/**
+	 * The default SQLite tuning profile, in the order the pragmas are applied.
+	 * busy_timeout comes first, so switching the journal waits for other
+	 * connections instead of failing.
+	 */
+	private static final String[][] DEFAULT_PRAGMAS = { { "busy_timeout", "5000" }, { "journal_mode", "WAL" },
+			{ "synchronous", "NORMAL" }, { "mmap_size", "268435456" }, { "cache_size", "-8192" },
+			{ "temp_store", "MEMORY" } };
+
+	private final Properties properties;
+	private final String source;
+
+	/**
+	 * This is the constructor of DatabaseConfig.
+	 *
+	 * @param _properties the loaded settings
+	 * @param _source     where the settings come from, it is used by the report
+	 */
+	public DatabaseConfig(Properties _properties, String _source) {
+		properties = _properties;
+		source = _source;
+	}
+
+	/**
+	 * Load the settings from a properties file.
+	 * <p>
+	 * A missing or unreadable file falls back to the defaults.
+	 *
+	 * @param path the path of the properties file
+	 * @return DatabaseConfig
+	 */
+	public static DatabaseConfig load(String path) {
+		Properties properties = new Properties();
+		Path file = Paths.get(path);
+		if (!Files.isRegularFile(file)) {
+			return new DatabaseConfig(properties, "defaults");
+		}
+		try (InputStream input = new FileInputStream(file.toFile())) {
+			properties.load(input);
+			return new DatabaseConfig(properties, path);
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.out.println("Load " + path + " fail, using the defaults!");
+			return new DatabaseConfig(new Properties(), "defaults");
+		}
+	}
+
+	/**
+	 * Returns the JDBC url of the database.
+	 *
+	 * @return url
+	 */
+	public String getUrl() {
+		return properties.getProperty("database.url", DEFAULT_URL).trim();
+	}
+
+	/**
+	 * Returns where the settings come from.
+	 *
+	 * @return source
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * Returns the maximum number of pooled connections.
+	 *
+	 * @return poolMaxSize
+	 */
+	public int getPoolMaxSize() {
+		return getInt("pool.maxSize", ConnectionPool.DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Returns how long a borrow waits for a free connection.
+	 *
+	 * @return borrowTimeoutMillis
+	 */
+	public long getBorrowTimeoutMillis() {
+		return getLong("pool.borrowTimeoutMillis", ConnectionPool.DEFAULT_BORROW_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Returns how long a connection may stay idle before it is closed.
+	 *
+	 * @return idleTimeoutMillis
+	 */
+	public long getIdleTimeoutMillis() {
+		return getLong("pool.idleTimeoutMillis", ConnectionPool.DEFAULT_IDLE_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Returns how long a connection may be held before it is reported as leaked.
+	 *
+	 * @return leakThresholdMillis
+	 */
+	public long getLeakThresholdMillis() {
+		return getLong("pool.leakThresholdMillis", ConnectionPool.DEFAULT_LEAK_THRESHOLD_MILLIS);
+	}
+
+	/**
+	 * Returns whether a leak report shows the stack which borrowed the
+	 * connection, it costs a stack capture on every borrow.
+	 *
+	 * @return leakTrace
+	 */
+	public boolean isLeakTrace() {
+		return Boolean.parseBoolean(getString("pool.leakTrace", "false"));
+	}
+
+	/**
+	 * Returns the number of prepared statements cached by each connection.
+	 *
+	 * @return statementCacheSize
+	 */
+	public int getStatementCacheSize() {
+		return getInt("pool.statementCacheSize", ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE);
+	}
+
+	/**
+	 * Returns the number of courses kept by the course cache.
+	 *
+	 * @return courseCacheSize
+	 */
+	public int getCourseCacheSize() {
+		return getInt("cache.courseMaxSize", CourseCache.DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Returns the duration above which a statement is written to the slow query
+	 * log, a negative value turns the log off.
+	 *
+	 * @return slowQueryThresholdMillis
+	 */
+	public long getSlowQueryThresholdMillis() {
+		return getLong("slowQuery.thresholdMillis", SlowQueryLog.DEFAULT_THRESHOLD_MILLIS);
+	}
+
+	/**
+	 * Returns the path of the slow query log.
+	 *
+	 * @return slowQueryFile
+	 */
+	public String getSlowQueryFile() {
+		return getString("slowQuery.file", SlowQueryLog.DEFAULT_FILE);
+	}
+
+	/**
+	 * Returns the size at which the slow query log is rotated.
+	 *
+	 * @return slowQueryMaxFileBytes
+	 */
+	public long getSlowQueryMaxFileBytes() {
+		return getLong("slowQuery.maxFileBytes", SlowQueryLog.DEFAULT_MAX_FILE_BYTES);
+	}
+
+	/**
+	 * Returns the number of slow query log files kept, the current one
+	 * included.
+	 *
+	 * @return slowQueryMaxFiles
+	 */
+	public int getSlowQueryMaxFiles() {
+		return getInt("slowQuery.maxFiles", SlowQueryLog.DEFAULT_MAX_FILES);
+	}
+
+	/**
+	 * Returns the SQLite pragmas of the tuning profile.
+	 * <p>
+	 * The defaults come first, the keys starting with "sqlite." override them
+	 * or add new pragmas.
+	 *
+	 * @return the map from the pragma name to its value
+	 */
+	public Map<String, String> getPragmas() {
+		Map<String, String> pragmas = new LinkedHashMap<>();
+		for (String[] pragma : DEFAULT_PRAGMAS) {
+			pragmas.put(pragma[0], pragma[1]);
+		}
+		for (String key : properties.stringPropertyNames()) {
+			if (key.startsWith(PRAGMA_PREFIX)) {
+				pragmas.put(key.substring(PRAGMA_PREFIX.length()), properties.getProperty(key).trim());
+			}
+		}
+		return pragmas;
+	}
+
+	/**
+	 * Returns a raw setting.
+	 *
+	 * @param key          the key of the setting
+	 * @param defaultValue the value used when the key is missing
+	 * @return the value
+	 */
+	public String getString(String key, String defaultValue) {
+		return properties.getProperty(key, defaultValue).trim();
+	}
+
+	/**
+	 * Returns an integer setting.
+	 *
+	 * @param key          the key of the setting
+	 * @param defaultValue the value used when the key is missing or invalid
+	 * @return the value
+	 */
+	public int getInt(String key, int defaultValue) {
+		return (int) getLong(key, defaultValue);
+	}
+
+	/**
+	 * Returns a long setting.
+	 *
+	 * @param key          the key of the setting
+	 * @param defaultValue the value used when the key is missing or invalid
+	 * @return the value
+	 */
+	public long getLong(String key, long defaultValue) {
+		String value = properties.getProperty(key);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			System.out.println("Invalid value of " + key + ": " + value);
+			return defaultValue;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+/**
+ * File: DatabaseException.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a DatabaseException class, it is thrown by SqliteDatabase when a database call fails.
+ * The message is short enough to be shown to the user, the SQLException is kept as the cause.
+ */
+
+package courseregistersystem.main.database;
+
+public class DatabaseException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * This is the constructor of DatabaseException.
+	 *
+	 * @param _message the message of the failure
+	 */
+	public DatabaseException(String _message) {
+		super(_message);
+	}
+
+	/**
+	 * This is the constructor of DatabaseException.
+	 *
+	 * @param _message the message of the failure
+	 * @param _cause   the exception thrown by the database driver
+	 */
+	public DatabaseException(String _message, Throwable _cause) {
+		super(_message, _cause);
+	}
+}
@@ -0,0 +1,209 @@
+/**
+ * File: DatabaseMetrics.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a DatabaseMetrics class, it times every operation of SqliteDatabase and keeps
+ * an OperationStats per operation. The statistics are exported as a text snapshot and as JMX MBeans,
+ * every call is also a JFR event.
+ */
+
+package courseregistersystem.main.database;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class DatabaseMetrics implements DatabaseMetricsMBean {
+
+	public static final String JMX_DOMAIN = "courseregistersystem";
+
+	// Sorted by the name, so the snapshot is stable
+	private final Map<String, OperationStats> operations = new ConcurrentSkipListMap<>();
+	private final List<ObjectName> registeredNames = new ArrayList<>();
+	private final Map<String, Boolean> registeredOperations = new ConcurrentHashMap<>();
+	private volatile ConnectionPool pool;
+	private volatile boolean jmxEnabled;
+
+	/**
+	 * Run an operation and record its duration and failure.
+	 * <p>
+	 * A DatabaseCallEvent is emitted when JFR is recording.
+	 *
+	 * @param operation the name of the operation
+	 * @param body      the work of the operation
+	 * @return the result of the work
+	 */
+	public <T> T record(String operation, Supplier<T> body) {
+		DatabaseCallEvent event = new DatabaseCallEvent();
+		event.begin();
+		long start = System.nanoTime();
+		boolean failed = true;
+		T result = null;
+		try {
+			result = body.get();
+			failed = false;
+			return result;
+		} finally {
+			getStats(operation).record(System.nanoTime() - start, failed);
+			event.end();
+			if (event.shouldCommit()) {
+				event.operation = operation;
+				event.rows = DatabaseCallEvent.rowsOf(result);
+				event.failed = failed;
+				event.commit();
+			}
+		}
+	}
+
+	/**
+	 * Returns the statistics of an operation, creating them on the first call.
+	 *
+	 * @param operation the name of the operation
+	 * @return OperationStats
+	 */
+	public OperationStats getStats(String operation) {
+		OperationStats stats = operations.get(operation);
+		if (stats == null) {
+			stats = operations.computeIfAbsent(operation, OperationStats::new);
+			if (jmxEnabled) {
+				registerOperation(stats);
+			}
+		}
+		return stats;
+	}
+
+	/**
+	 * Set the pool whose prepared statement caches are reported.
+	 *
+	 * @param _pool the connection pool
+	 */
+	void setPool(ConnectionPool _pool) {
+		pool = _pool;
+	}
+
+	/**
+	 * Returns the number of prepared statements served from a cache since the
+	 * pool was opened.
+	 *
+	 * @return statementCacheHits
+	 */
+	@Override
+	public long getStatementCacheHits() {
+		ConnectionPool currentPool = pool;
+		return currentPool == null ? 0 : currentPool.getStatementCacheHits();
+	}
+
+	/**
+	 * Returns the number of prepared statements which had to be parsed since the
+	 * pool was opened.
+	 *
+	 * @return statementCacheMisses
+	 */
+	@Override
+	public long getStatementCacheMisses() {
+		ConnectionPool currentPool = pool;
+		return currentPool == null ? 0 : currentPool.getStatementCacheMisses();
+	}
+
+	/**
+	 * Returns a text table of every operation, the durations are in
+	 * microseconds, followed by the use of the statement caches.
+	 *
+	 * @return the snapshot
+	 */
+	@Override
+	public String getSnapshot() {
+		StringBuilder builder = new StringBuilder(String.format("%-26s %9s %7s %9s %9s %9s %9s %9s%n", "operation",
+				"count", "errors", "mean", "p50", "p99", "p999", "max"));
+		for (OperationStats stats : operations.values()) {
+			builder.append(String.format("%-26s %9d %7d %9d %9d %9d %9d %9d%n", stats.getName(), stats.getCount(),
+					stats.getErrors(), stats.getMeanMicros(), stats.getP50Micros(), stats.getP99Micros(),
+					stats.getP999Micros(), stats.getMaxMicros()));
+		}
+		long hits = getStatementCacheHits();
+		long misses = getStatementCacheMisses();
+		builder.append(String.format("statement cache: %d hits, %d misses, hit rate %.1f%%%n", hits, misses,
+				hits + misses == 0 ? 0.0 : 100.0 * hits / (hits + misses)));
+		return builder.toString();
+	}
+
+	/**
+	 * Forget the recorded calls of every operation.
+	 * <p>
+	 * The statement cache counts are kept, they belong to the pool.
+	 */
+	@Override
+	public void reset() {
+		for (OperationStats stats : operations.values()) {
+			stats.reset();
+		}
+	}
+
+	/**
+	 * Register this object and one MBean per operation in the platform MBean
+	 * server.
+	 * <p>
+	 * The operations which are called later are registered on their first
+	 * call.
+	 */
+	public synchronized void registerMBeans() {
+		jmxEnabled = true;
+		register(this, "type=DatabaseMetrics");
+		for (OperationStats stats : operations.values()) {
+			registerOperation(stats);
+		}
+	}
+
+	/**
+	 * Remove every MBean registered by this object.
+	 */
+	public synchronized void unregisterMBeans() {
+		jmxEnabled = false;
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		for (ObjectName name : registeredNames) {
+			try {
+				server.unregisterMBean(name);
+			} catch (JMException e) {
+				System.out.println("Unregister " + name + " fail!");
+			}
+		}
+		registeredNames.clear();
+		registeredOperations.clear();
+	}
+
+	/**
+	 * Register the MBean of an operation once.
+	 *
+	 * @param stats the statistics of the operation
+	 */
+	private synchronized void registerOperation(OperationStats stats) {
+		if (jmxEnabled && registeredOperations.putIfAbsent(stats.getName(), Boolean.TRUE) == null) {
+			register(stats, "type=DatabaseOperation,name=" + ObjectName.quote(stats.getName()));
+		}
+	}
+
+	/**
+	 * Register an MBean, a failure only disables this MBean.
+	 *
+	 * @param mbean the MBean
+	 * @param keys  the key properties of its name
+	 */
+	private void register(Object mbean, String keys) {
+		try {
+			ObjectName name = new ObjectName(JMX_DOMAIN + ":" + keys);
+			ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, name);
+			registeredNames.add(name);
+		} catch (JMException e) {
+			e.printStackTrace();
+			System.out.println("Register MBean " + keys + " fail!");
+		}
+	}
+}
@@ -0,0 +1,18 @@
+/**
+ * File: DatabaseMetricsMBean.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a DatabaseMetricsMBean interface, the JMX view of the statistics of every database operation.
+ */
+
+package courseregistersystem.main.database;
+
+public interface DatabaseMetricsMBean {
+	public String getSnapshot();
+
+	public long getStatementCacheHits();
+
+	public long getStatementCacheMisses();
+
+	public void reset();
+}
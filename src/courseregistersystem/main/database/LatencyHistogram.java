@@ -0,0 +1,137 @@
+/**
+ * File: LatencyHistogram.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a LatencyHistogram class, a lock-free log-linear histogram of durations in nanoseconds.
+ * Like an HDR histogram every power of two is split into 32 buckets, so a percentile is within about 3% of
+ * the recorded value whatever its magnitude.
+ */
+
+package courseregistersystem.main.database;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKETS = 32;
+	private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+	private static final int BUCKET_COUNT = LINEAR_LIMIT + (Long.SIZE - 6) * SUB_BUCKETS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Record a duration.
+	 *
+	 * @param nanos the duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		buckets.incrementAndGet(indexOf(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	/**
+	 * Returns the number of recorded durations.
+	 *
+	 * @return count
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Returns the mean of the recorded durations.
+	 *
+	 * @return the mean in nanoseconds
+	 */
+	public long getMean() {
+		long total = count.get();
+		return total == 0 ? 0 : sum.get() / total;
+	}
+
+	/**
+	 * Returns the longest recorded duration.
+	 *
+	 * @return the max in nanoseconds
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the duration below which a share of the recorded durations fall.
+	 *
+	 * @param percentile the share between 0 and 100, for example 99.9
+	 * @return the duration in nanoseconds, 0 if nothing is recorded
+	 */
+	public long getPercentile(double percentile) {
+		long total = 0;
+		long[] counts = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(total * Math.min(100, percentile) / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(valueOf(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Forget every recorded duration.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets.set(i, 0);
+		}
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+	/**
+	 * Returns the bucket of a duration.
+	 * <p>
+	 * Durations below 64 have a bucket each, larger ones keep their 6 highest
+	 * bits.
+	 *
+	 * @param value the duration
+	 * @return the index of the bucket
+	 */
+	private static int indexOf(long value) {
+		if (value < LINEAR_LIMIT) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - 5;
+		return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+	}
+
+	/**
+	 * Returns the middle of the range of a bucket.
+	 *
+	 * @param index the index of the bucket
+	 * @return the duration
+	 */
+	private static long valueOf(int index) {
+		if (index < LINEAR_LIMIT) {
+			return index;
+		}
+		int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+		long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+		return (subBucket << shift) + (1L << shift) / 2;
+	}
+}
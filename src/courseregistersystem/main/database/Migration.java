@@ -0,0 +1,56 @@
+/**
+ * File: Migration.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a Migration class, one versioned step of the database schema.
+ * A migration is a list of SQL statements which run together in one transaction.
+ */
+
+package courseregistersystem.main.database;
+
+public class Migration {
+
+	private final int version;
+	private final String description;
+	private final String[] statements;
+
+	/**
+	 * This is the constructor of Migration.
+	 *
+	 * @param _version     the schema version after this migration, it starts at 1
+	 * @param _description a short description for the schema_version table
+	 * @param _statements  the SQL statements of this migration
+	 */
+	public Migration(int _version, String _description, String... _statements) {
+		version = _version;
+		description = _description;
+		statements = _statements;
+	}
+
+	/**
+	 * Returns the version attribute.
+	 *
+	 * @return version
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns the description attribute.
+	 *
+	 * @return description
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * Returns the SQL statements of this migration.
+	 *
+	 * @return statements
+	 */
+	public String[] getStatements() {
+		return statements;
+	}
+}
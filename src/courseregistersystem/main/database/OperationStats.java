@@ -0,0 +1,93 @@
+/**
+ * File: OperationStats.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define an OperationStats class, the call count, the error count and the latency histogram
+ * of one database operation.
+ */
+
+package courseregistersystem.main.database;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationStats implements OperationStatsMBean {
+
+	private final String name;
+	private final LongAdder errors = new LongAdder();
+	private final LatencyHistogram latency = new LatencyHistogram();
+
+	/**
+	 * This is the constructor of OperationStats.
+	 *
+	 * @param _name the name of the operation
+	 */
+	public OperationStats(String _name) {
+		name = _name;
+	}
+
+	/**
+	 * Record a finished call.
+	 *
+	 * @param nanos  the duration of the call
+	 * @param failed whether the call threw
+	 */
+	public void record(long nanos, boolean failed) {
+		latency.record(nanos);
+		if (failed) {
+			errors.increment();
+		}
+	}
+
+	/**
+	 * Returns the name attribute.
+	 *
+	 * @return name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public long getCount() {
+		return latency.getCount();
+	}
+
+	@Override
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	@Override
+	public long getMeanMicros() {
+		return TimeUnit.NANOSECONDS.toMicros(latency.getMean());
+	}
+
+	@Override
+	public long getP50Micros() {
+		return TimeUnit.NANOSECONDS.toMicros(latency.getPercentile(50));
+	}
+
+	@Override
+	public long getP99Micros() {
+		return TimeUnit.NANOSECONDS.toMicros(latency.getPercentile(99));
+	}
+
+	@Override
+	public long getP999Micros() {
+		return TimeUnit.NANOSECONDS.toMicros(latency.getPercentile(99.9));
+	}
+
+	@Override
+	public long getMaxMicros() {
+		return TimeUnit.NANOSECONDS.toMicros(latency.getMax());
+	}
+
+	/**
+	 * Forget the recorded calls.
+	 */
+	public void reset() {
+		errors.reset();
+		latency.reset();
+	}
+}
@@ -0,0 +1,24 @@
+/**
+ * File: OperationStatsMBean.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define an OperationStatsMBean interface, the JMX view of the statistics of one database operation.
+ */
+
+package courseregistersystem.main.database;
+
+public interface OperationStatsMBean {
+	public long getCount();
+
+	public long getErrors();
+
+	public long getMeanMicros();
+
+	public long getP50Micros();
+
+	public long getP99Micros();
+
+	public long getP999Micros();
+
+	public long getMaxMicros();
+}
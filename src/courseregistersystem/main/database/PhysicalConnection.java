@@ -0,0 +1,84 @@
+/**
+ * File: PhysicalConnection.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a PhysicalConnection class, an open JDBC connection kept by the ConnectionPool together
+ * with its prepared statement cache. It is lent out through a new PooledConnection on every borrow.
+ */
+
+package courseregistersystem.main.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+class PhysicalConnection {
+
+	private final Connection connection;
+	private final StatementCache statementCache;
+
+	/**
+	 * Bookkeeping used by the pool for idle eviction
+	 */
+	private volatile long lastUsedMillis;
+
+	/**
+	 * This is the constructor of PhysicalConnection.
+	 *
+	 * @param _connection     the physical connection to the database
+	 * @param _statementCache the prepared statement cache of this connection
+	 */
+	PhysicalConnection(Connection _connection, StatementCache _statementCache) {
+		connection = _connection;
+		statementCache = _statementCache;
+		lastUsedMillis = System.currentTimeMillis();
+	}
+
+	/**
+	 * Returns the connection attribute.
+	 *
+	 * @return connection
+	 */
+	Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * Returns the statementCache attribute.
+	 *
+	 * @return statementCache
+	 */
+	StatementCache getStatementCache() {
+		return statementCache;
+	}
+
+	/**
+	 * Returns the lastUsedMillis attribute.
+	 *
+	 * @return lastUsedMillis
+	 */
+	long getLastUsedMillis() {
+		return lastUsedMillis;
+	}
+
+	/**
+	 * Mark this connection as returned to the pool.
+	 *
+	 */
+	void markReturned() {
+		lastUsedMillis = System.currentTimeMillis();
+	}
+
+	/**
+	 * Close the connection and its cached statements.
+	 *
+	 */
+	void close() {
+		statementCache.clear();
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			e.printStackTrace();
+			System.out.println("Close connection fail!");
+		}
+	}
+}
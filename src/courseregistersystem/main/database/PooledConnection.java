@@ -0,0 +1,131 @@
+/**
+ * File: PooledConnection.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a PooledConnection class, one borrow of a physical JDBC connection from the
+ * ConnectionPool. It returns the connection to the pool when it is closed, every borrow gets a new
+ * PooledConnection, so a second close of an old one never returns a connection borrowed by someone else.
+ */
+
+package courseregistersystem.main.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class PooledConnection implements AutoCloseable {
+
+	private final PhysicalConnection physicalConnection;
+	private final ConnectionPool pool;
+
+	/**
+	 * Bookkeeping used by the pool for leak detection
+	 */
+	private final long borrowedAtMillis;
+	private final Throwable borrowSite;
+	private volatile boolean leakReported;
+	private volatile boolean returned;
+
+	/**
+	 * This is the constructor of PooledConnection.
+	 *
+	 * @param _physicalConnection the borrowed connection
+	 * @param _pool               the pool which owns the connection
+	 * @param captureSite         true to remember the caller's stack for leak
+	 *                            reports
+	 */
+	PooledConnection(PhysicalConnection _physicalConnection, ConnectionPool _pool, boolean captureSite) {
+		physicalConnection = _physicalConnection;
+		pool = _pool;
+		borrowedAtMillis = System.currentTimeMillis();
+		borrowSite = captureSite ? new Throwable("Connection borrowed here") : null;
+	}
+
+	/**
+	 * Returns a cached prepared statement for the SQL text.
+	 * <p>
+	 * The statement belongs to this connection and must not be closed by the
+	 * caller, only its ResultSet should be closed.
+	 *
+	 * @param sql the SQL text
+	 * @return PreparedStatement
+	 */
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		return prepareStatement(sql, Statement.NO_GENERATED_KEYS);
+	}
+
+	/**
+	 * Returns a cached prepared statement for the SQL text.
+	 * <p>
+	 * The statement belongs to this connection and must not be closed by the
+	 * caller, only its ResultSet should be closed.
+	 *
+	 * @param sql               the SQL text
+	 * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or
+	 *                          Statement.NO_GENERATED_KEYS
+	 * @return PreparedStatement
+	 */
+	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+		if (returned) {
+			throw new SQLException("The connection was returned to the pool");
+		}
+		return physicalConnection.getStatementCache().prepare(sql, autoGeneratedKeys);
+	}
+
+	/**
+	 * Returns the physical connection.
+	 *
+	 * @return Connection
+	 */
+	Connection getConnection() {
+		return physicalConnection.getConnection();
+	}
+
+	/**
+	 * Returns the physicalConnection attribute.
+	 *
+	 * @return physicalConnection
+	 */
+	PhysicalConnection getPhysicalConnection() {
+		return physicalConnection;
+	}
+
+	/**
+	 * Mark this borrow as finished, the connection is no longer usable through
+	 * it.
+	 *
+	 */
+	void markReturned() {
+		returned = true;
+	}
+
+	long getBorrowedAtMillis() {
+		return borrowedAtMillis;
+	}
+
+	Throwable getBorrowSite() {
+		return borrowSite;
+	}
+
+	boolean isLeakReported() {
+		return leakReported;
+	}
+
+	void setLeakReported(boolean _leakReported) {
+		leakReported = _leakReported;
+	}
+
+	/**
+	 * Return this connection to the pool.
+	 * <p>
+	 * It is called automatically at the end of a try-with-resources block, a
+	 * second call does nothing.
+	 */
+	@Override
+	public void close() {
+		if (!returned) {
+			pool.release(this);
+		}
+	}
+}
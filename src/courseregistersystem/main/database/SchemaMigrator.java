@@ -0,0 +1,245 @@
+/**
+ * File: SchemaMigrator.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a SchemaMigrator class, it keeps the ordered list of schema migrations and
+ * applies the missing ones at startup. The applied versions are recorded in the schema_version table.
+ */
+
+package courseregistersystem.main.database;
+
+import courseregistersystem.main.model.EnrollmentState;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+public class SchemaMigrator {
+
+	/**
+	 * The condition of the partial indexes, a query must contain the same
+	 * condition to use them.
+	 */
+	public static final String ACTIVE_STATES = "state IN (" + EnrollmentState.REQUESTED + ", "
+			+ EnrollmentState.ENROLLED + ")";
+
+	/**
+	 * The version which makes the user names unique, the accounts which share a
+	 * name are renamed by it.
+	 */
+	private static final int UNIQUE_USER_NAME_VERSION = 2;
+
+	/**
+	 * Every schema change is appended here with the next version, applied
+	 * migrations must never be edited.
+	 */
+	private static final List<Migration> MIGRATIONS = List.of(
+			new Migration(1, "Create the base tables",
+					"CREATE TABLE IF NOT EXISTS userTable ( " + "user_name TEXT NOT NULL, "
+							+ "password TEXT NOT NULL, " + "email TEXT NOT NULL, " + "role TEXT NOT NULL, "
+							+ "first_name TEXT NOT NULL, " + "last_name TEXT NOT NULL, " + "address TEXT NOT NULL, "
+							+ "birthday TIMESTAMP NOT NULL, " + "create_time TIMESTAMP NOT NULL, "
+							+ "update_time TIMESTAMP NOT NULL);",
+					"CREATE TABLE IF NOT EXISTS courseTable ( " + "course_name TEXT NOT NULL, "
+							+ "course_hours TEXT NOT NULL, " + "course_type TEXT NOT NULL, "
+							+ "course_building TEXT NOT NULL, " + "instructor_id INTEGER NOT NULL, "
+							+ "create_time TIMESTAMP NOT NULL, " + "update_time TIMESTAMP NOT NULL);",
+					"CREATE TABLE IF NOT EXISTS requestedTable ( " + "student_id INTEGER NOT NULL, "
+							+ "course_id INTEGER NOT NULL, " + "action_create_time TIMESTAMP NOT NULL);",
+					"CREATE TABLE IF NOT EXISTS enrolledTable ( " + "student_id INTEGER NOT NULL, "
+							+ "course_id INTEGER NOT NULL, " + "action_create_time TIMESTAMP NOT NULL);"),
+			new Migration(UNIQUE_USER_NAME_VERSION, "Index the lookups of users, courses and requests",
+					// The old createUser allowed a taken name, the oldest account keeps it
+					"UPDATE userTable SET user_name = user_name || '#' || rowid WHERE rowid NOT IN "
+							+ "(SELECT MIN(rowid) FROM userTable GROUP BY user_name);",
+					"CREATE UNIQUE INDEX IF NOT EXISTS userTable_user_name ON userTable (user_name);",
+					"CREATE INDEX IF NOT EXISTS courseTable_instructor_id ON courseTable (instructor_id);",
+					"CREATE INDEX IF NOT EXISTS requestedTable_student_course ON requestedTable (student_id, course_id);",
+					"CREATE INDEX IF NOT EXISTS requestedTable_course_student ON requestedTable (course_id, student_id);",
+					"CREATE INDEX IF NOT EXISTS enrolledTable_student_course ON enrolledTable (student_id, course_id);",
+					"CREATE INDEX IF NOT EXISTS enrolledTable_course_student ON enrolledTable (course_id, student_id);"),
+			new Migration(3, "Merge requestedTable and enrolledTable into enrollmentTable",
+					"CREATE TABLE IF NOT EXISTS enrollmentTable ( " + "student_id INTEGER NOT NULL, "
+							+ "course_id INTEGER NOT NULL, " + "state INTEGER NOT NULL, "
+							+ "action_create_time TIMESTAMP NOT NULL, " + "PRIMARY KEY (student_id, course_id)) "
+							+ "WITHOUT ROWID;",
+					// Covers the roster of a course without touching the table
+					"CREATE INDEX IF NOT EXISTS enrollmentTable_course_state ON enrollmentTable "
+							+ "(course_id, state, student_id, action_create_time);",
+					"INSERT OR REPLACE INTO enrollmentTable (student_id, course_id, state, action_create_time) "
+							+ "SELECT student_id, course_id, " + EnrollmentState.REQUESTED
+							+ ", action_create_time FROM requestedTable;",
+					// An enrolled row wins over a stale request of the same course
+					"INSERT OR REPLACE INTO enrollmentTable (student_id, course_id, state, action_create_time) "
+							+ "SELECT student_id, course_id, " + EnrollmentState.ENROLLED
+							+ ", action_create_time FROM enrolledTable;",
+					"DROP TABLE requestedTable;", "DROP TABLE enrolledTable;"),
+			new Migration(4, "Store the timestamps as epoch milliseconds",
+					// The text was written in the local time zone of the program
+					toEpochMillis("userTable", "create_time"), toEpochMillis("userTable", "update_time"),
+					toEpochMillis("courseTable", "create_time"), toEpochMillis("courseTable", "update_time"),
+					toEpochMillis("enrollmentTable", "action_create_time")),
+			new Migration(5, "Index the sorted pages of the lists",
+					// An index on one column also orders the equal values by rowid, the end of every sort
+					"CREATE INDEX IF NOT EXISTS courseTable_course_name ON courseTable (course_name);",
+					"CREATE INDEX IF NOT EXISTS courseTable_course_type ON courseTable (course_type);",
+					"CREATE INDEX IF NOT EXISTS courseTable_instructor_name ON courseTable (instructor_id, course_name);",
+					"CREATE INDEX IF NOT EXISTS courseTable_instructor_type ON courseTable (instructor_id, course_type);",
+					// Only the requested and enrolled rows are listed, the partial indexes skip the others
+					"CREATE INDEX IF NOT EXISTS enrollmentTable_course_active ON enrollmentTable (course_id) WHERE "
+							+ ACTIVE_STATES + ";",
+					"CREATE INDEX IF NOT EXISTS enrollmentTable_course_time ON enrollmentTable "
+							+ "(course_id, action_create_time) WHERE " + ACTIVE_STATES + ";",
+					"CREATE INDEX IF NOT EXISTS enrollmentTable_student_time ON enrollmentTable "
+							+ "(student_id, action_create_time) WHERE " + ACTIVE_STATES + ";"));
+
+	private SchemaMigrator() {
+	}
+
+	/**
+	 * Returns the statement which turns the "yyyy-MM-dd HH:mm:ss" text of a
+	 * column into epoch milliseconds. Numbers and text which is not a date are
+	 * left as they are.
+	 *
+	 * @param table  the table
+	 * @param column the timestamp column
+	 * @return the UPDATE statement
+	 */
+	private static String toEpochMillis(String table, String column) {
+		String seconds = "strftime('%s', " + column + ", 'utc')";
+		return "UPDATE " + table + " SET " + column + " = CAST(" + seconds + " AS INTEGER) * 1000 WHERE typeof("
+				+ column + ") = 'text' AND " + seconds + " IS NOT NULL;";
+	}
+
+	/**
+	 * Returns the latest schema version known by the program.
+	 *
+	 * @return the latest version
+	 */
+	public static int getLatestVersion() {
+		return MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+	}
+
+	/**
+	 * Apply every migration which is newer than the version of the database.
+	 * <p>
+	 * An up to date database only costs one query. Otherwise the version table
+	 * and every missing migration are applied in one immediate transaction on
+	 * this connection, so a new database is bootstrapped with a single commit,
+	 * a failed migration leaves the database untouched, and two processes
+	 * starting together never apply the same migration twice.
+	 *
+	 * @param pooledConnection the connection to migrate
+	 * @return the schema version after the migration
+	 */
+	public static int migrate(PooledConnection pooledConnection) throws SQLException {
+		Connection connection = pooledConnection.getConnection();
+		if (hasVersionTable(connection) && getCurrentVersion(connection) >= getLatestVersion()) {
+			return getCurrentVersion(connection);
+		}
+
+		boolean autoCommit = connection.getAutoCommit();
+		try (Statement statement = connection.createStatement()) {
+			// Take the write lock first, the version is read again under it
+			connection.setAutoCommit(true);
+			statement.executeUpdate("BEGIN IMMEDIATE;");
+			try {
+				statement.executeUpdate("CREATE TABLE IF NOT EXISTS schema_version ( " + "version INTEGER PRIMARY KEY, "
+						+ "description TEXT NOT NULL, " + "applied_time TIMESTAMP NOT NULL);");
+				int currentVersion = getCurrentVersion(connection);
+				for (Migration migration : MIGRATIONS) {
+					if (migration.getVersion() <= currentVersion) {
+						continue;
+					}
+					if (migration.getVersion() == UNIQUE_USER_NAME_VERSION) {
+						reportDuplicateUserNames(connection);
+					}
+					apply(connection, migration);
+					currentVersion = migration.getVersion();
+					System.out.println("Schema migrated to version " + currentVersion + ": " + migration.getDescription());
+				}
+				statement.executeUpdate("COMMIT;");
+				return currentVersion;
+			} catch (SQLException e) {
+				statement.executeUpdate("ROLLBACK;");
+				throw e;
+			}
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	/**
+	 * Print the accounts which will be renamed because an older account has the
+	 * same user name, they log in with the new name afterwards.
+	 *
+	 * @param connection the connection to the database
+	 */
+	private static void reportDuplicateUserNames(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT rowid, user_name FROM userTable WHERE rowid NOT IN "
+						+ "(SELECT MIN(rowid) FROM userTable GROUP BY user_name) ORDER BY rowid;")) {
+			while (resultSet.next()) {
+				String userName = resultSet.getString("user_name");
+				System.out.println("Duplicate user name " + userName + ": user " + resultSet.getLong("rowid")
+						+ " is renamed to " + userName + "#" + resultSet.getLong("rowid"));
+			}
+		}
+	}
+
+	/**
+	 * Check whether the schema_version table exists.
+	 *
+	 * @param connection the connection to the database
+	 * @return true if the table exists
+	 */
+	private static boolean hasVersionTable(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(
+						"SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'schema_version';")) {
+			return resultSet.next();
+		}
+	}
+
+	/**
+	 * Returns the schema version recorded in the database.
+	 *
+	 * @param connection the connection to the database
+	 * @return the version, 0 if nothing is applied
+	 */
+	private static int getCurrentVersion(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT MAX(version) FROM schema_version;")) {
+			return resultSet.next() ? resultSet.getInt(1) : 0;
+		}
+	}
+
+	/**
+	 * Apply one migration and record its version, inside the transaction of
+	 * migrate().
+	 *
+	 * @param connection the connection to the database
+	 * @param migration  the migration to apply
+	 */
+	private static void apply(Connection connection, Migration migration) throws SQLException {
+		try {
+			try (Statement statement = connection.createStatement()) {
+				for (String sql : migration.getStatements()) {
+					statement.executeUpdate(sql);
+				}
+			}
+			try (PreparedStatement statement = connection.prepareStatement(
+					"INSERT INTO schema_version (version, description, applied_time) VALUES (?, ?, ?);")) {
+				statement.setInt(1, migration.getVersion());
+				statement.setString(2, migration.getDescription());
+				statement.setLong(3, System.currentTimeMillis());
+				statement.executeUpdate();
+			}
+		} catch (SQLException e) {
+			throw new SQLException("Migration to version " + migration.getVersion() + " fail", e);
+		}
+	}
+}
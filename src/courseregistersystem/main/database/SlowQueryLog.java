@@ -0,0 +1,221 @@
+/**
+ * File: SlowQueryLog.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a SlowQueryLog class, it writes every statement slower than a threshold to a rotating file
+ * together with its bound parameters and the output of EXPLAIN QUERY PLAN. The file is written by a background
+ * thread, so a slow query is never made slower by its own logging.
+ */
+
+package courseregistersystem.main.database;
+
+import courseregistersystem.main.model.TimeFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SlowQueryLog {
+
+	public static final long DEFAULT_THRESHOLD_MILLIS = 100;
+	public static final String DEFAULT_FILE = "logs/slow-query.log";
+	public static final long DEFAULT_MAX_FILE_BYTES = 1024 * 1024;
+	public static final int DEFAULT_MAX_FILES = 5;
+
+	private static final int QUEUE_SIZE = 256;
+
+	private final ConnectionPool pool;
+	private final long thresholdNanos;
+	private final Path file;
+	private final long maxFileBytes;
+	private final int maxFiles;
+	private final ThreadPoolExecutor writer;
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * This is the constructor of SlowQueryLog.
+	 *
+	 * @param _pool  the pool which runs EXPLAIN QUERY PLAN
+	 * @param config the settings of the database
+	 */
+	SlowQueryLog(ConnectionPool _pool, DatabaseConfig config) {
+		pool = _pool;
+		thresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowQueryThresholdMillis());
+		file = Paths.get(config.getSlowQueryFile());
+		maxFileBytes = config.getSlowQueryMaxFileBytes();
+		maxFiles = Math.max(1, config.getSlowQueryMaxFiles());
+		// A full queue drops the entry instead of blocking the query
+		writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE),
+				runnable -> {
+					Thread thread = new Thread(runnable, "slow-query-log");
+					thread.setDaemon(true);
+					return thread;
+				}, (runnable, executor) -> dropped.incrementAndGet());
+	}
+
+	/**
+	 * Returns whether statements are checked, a negative threshold turns the
+	 * log off.
+	 *
+	 * @return enabled
+	 */
+	boolean isEnabled() {
+		return thresholdNanos >= 0;
+	}
+
+	/**
+	 * Returns the number of slow statements which were not logged because the
+	 * queue was full.
+	 *
+	 * @return dropped
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	/**
+	 * Log a statement if it took longer than the threshold.
+	 *
+	 * @param sql        the SQL text
+	 * @param parameters the bound parameters, indexed from 1
+	 * @param batchRows  the number of rows of a batch, 0 if it is not a batch
+	 * @param nanos      the duration of the statement
+	 */
+	void check(String sql, Object[] parameters, int batchRows, long nanos) {
+		if (nanos < thresholdNanos || writer.isShutdown()) {
+			return;
+		}
+		long time = System.currentTimeMillis();
+		Object[] boundParameters = parameters.clone();
+		writer.execute(() -> write(time, sql, boundParameters, batchRows, nanos));
+	}
+
+	/**
+	 * Write one entry, it runs on the writer thread.
+	 *
+	 * @param time       when the statement finished, in epoch milliseconds
+	 * @param sql        the SQL text
+	 * @param parameters the bound parameters, indexed from 1
+	 * @param batchRows  the number of rows of a batch, 0 if it is not a batch
+	 * @param nanos      the duration of the statement
+	 */
+	private void write(long time, String sql, Object[] parameters, int batchRows, long nanos) {
+		StringBuilder entry = new StringBuilder();
+		entry.append(TimeFormat.format(time)).append(String.format(" %.3f ms%n", nanos / 1e6));
+		entry.append("SQL: ").append(sql).append(System.lineSeparator());
+		if (batchRows > 0) {
+			// Only the last row of a batch is still bound, it is also the one explained
+			entry.append("Batch: ").append(batchRows).append(" rows, parameters of the last row")
+					.append(System.lineSeparator());
+		}
+		entry.append("Parameters: ").append(Arrays.toString(Arrays.copyOfRange(parameters, 1, lastIndex(parameters) + 1)))
+				.append(System.lineSeparator());
+		entry.append("Plan:").append(System.lineSeparator());
+		for (String step : explain(sql, parameters)) {
+			entry.append("  ").append(step).append(System.lineSeparator());
+		}
+		entry.append(System.lineSeparator());
+
+		try {
+			if (file.getParent() != null) {
+				Files.createDirectories(file.getParent());
+			}
+			rotate();
+			try (BufferedWriter output = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+				output.write(entry.toString());
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.out.println("Write the slow query log fail!");
+		}
+	}
+
+	/**
+	 * Returns the plan of a statement.
+	 *
+	 * @param sql        the SQL text
+	 * @param parameters the bound parameters, indexed from 1
+	 * @return the steps of the plan
+	 */
+	private List<String> explain(String sql, Object[] parameters) {
+		List<String> steps = new ArrayList<>();
+		// The raw connection, so EXPLAIN is neither cached nor logged itself
+		try (PooledConnection pooledConnection = pool.borrow();
+				PreparedStatement statement = pooledConnection.getConnection()
+						.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+			for (int i = 1; i <= lastIndex(parameters); i++) {
+				statement.setObject(i, parameters[i]);
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					steps.add(resultSet.getString("detail"));
+				}
+			}
+		} catch (SQLException e) {
+			steps.add("unavailable: " + e.getMessage());
+		}
+		return steps;
+	}
+
+	/**
+	 * Move the full file to .1, .1 to .2 and so on, the oldest one is deleted.
+	 */
+	private void rotate() throws IOException {
+		if (!Files.exists(file) || Files.size(file) < maxFileBytes) {
+			return;
+		}
+		for (int i = maxFiles - 1; i >= 1; i--) {
+			Path source = i == 1 ? file : Paths.get(file + "." + (i - 1));
+			if (Files.exists(source)) {
+				Files.move(source, Paths.get(file + "." + i), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		Files.deleteIfExists(file);
+	}
+
+	/**
+	 * Returns the highest bound parameter index.
+	 *
+	 * @param parameters the bound parameters, indexed from 1
+	 * @return the index, 0 if nothing is bound
+	 */
+	private static int lastIndex(Object[] parameters) {
+		for (int i = parameters.length - 1; i >= 1; i--) {
+			if (parameters[i] != null) {
+				return i;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Write the waiting entries and stop the writer thread.
+	 */
+	void close() {
+		writer.shutdown();
+		try {
+			writer.awaitTermination(2, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (dropped.get() > 0) {
+			System.out.println("Slow query log dropped " + dropped.get() + " entries");
+		}
+	}
+}
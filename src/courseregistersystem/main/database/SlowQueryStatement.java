@@ -0,0 +1,115 @@
+/**
+ * File: SlowQueryStatement.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a SlowQueryStatement class, a proxy of a prepared statement which remembers the bound
+ * parameters and times every execution for the SlowQueryLog. A query is timed until its first row is ready, the
+ * driver steps to it inside executeQuery, so the ResultSet is returned as it is and its getters stay direct calls.
+ */
+
+package courseregistersystem.main.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+
+public class SlowQueryStatement implements InvocationHandler {
+
+	private final PreparedStatement statement;
+	private final String sql;
+	private final SlowQueryLog log;
+	private Object[] parameters = new Object[8];
+	// The number of rows added to the current batch
+	private int batchRows;
+
+	/**
+	 * This is the constructor of SlowQueryStatement.
+	 *
+	 * @param _statement the real statement
+	 * @param _sql       the SQL text of the statement
+	 * @param _log       the log of the slow statements
+	 */
+	private SlowQueryStatement(PreparedStatement _statement, String _sql, SlowQueryLog _log) {
+		statement = _statement;
+		sql = _sql;
+		log = _log;
+	}
+
+	/**
+	 * Wrap a statement, it is returned as it is when the log is off.
+	 *
+	 * @param statement the real statement
+	 * @param sql       the SQL text of the statement
+	 * @param log       the log of the slow statements
+	 * @return PreparedStatement
+	 */
+	static PreparedStatement wrap(PreparedStatement statement, String sql, SlowQueryLog log) {
+		if (log == null || !log.isEnabled()) {
+			return statement;
+		}
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, new SlowQueryStatement(statement, sql, log));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		String name = method.getName();
+		boolean noArgs = args == null || args.length == 0;
+		if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+			bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+		} else if (name.equals("clearParameters")) {
+			Arrays.fill(parameters, null);
+		} else if (noArgs && name.equals("addBatch")) {
+			batchRows++;
+		} else if (name.equals("clearBatch")) {
+			batchRows = 0;
+		}
+
+		if (noArgs && (name.equals("executeQuery") || name.equals("executeUpdate") || name.equals("execute"))) {
+			long start = System.nanoTime();
+			Object result = call(method, args);
+			log.check(sql, parameters, 0, System.nanoTime() - start);
+			return result;
+		}
+		if (noArgs && name.equals("executeBatch")) {
+			int rows = batchRows;
+			batchRows = 0;
+			long start = System.nanoTime();
+			Object result = call(method, args);
+			log.check(sql, parameters, rows, System.nanoTime() - start);
+			return result;
+		}
+		return call(method, args);
+	}
+
+	/**
+	 * Remember a bound parameter.
+	 *
+	 * @param index the index of the parameter, from 1
+	 * @param value the value
+	 */
+	private void bind(int index, Object value) {
+		if (index >= parameters.length) {
+			parameters = Arrays.copyOf(parameters, Math.max(index + 1, parameters.length * 2));
+		}
+		parameters[index] = value;
+	}
+
+	/**
+	 * Call the real statement and unwrap its exception.
+	 *
+	 * @param method the called method
+	 * @param args   the arguments
+	 * @return the result
+	 */
+	private Object call(Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(statement, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
@@ -4,178 +4,250 @@
  * Date: Dec 06, 2022
  * Description: Define a SqliteDatabase class as a bridge between the java program and the database. 
  * The SqliteDatabase class contains a number of methods, which are similar to the API.
+ * It knows nothing about the GUI, a failed call throws a DatabaseException.
  */
 
 package courseregistersystem.main.database;
 
 import courseregistersystem.main.model.*;
-import courseregistersystem.main.ui.GUI;
-import courseregistersystem.main.ui.Toast;
 
-import java.awt.Color;
-import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Timestamp;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 public class SqliteDatabase {
 
 	private static SqliteDatabase database;
-	private GUI gui;
+	private ConnectionPool pool;
+	private final CourseCache courseCache;
+	private final DatabaseMetrics metrics = new DatabaseMetrics();
 
 	/**
 	 * This is the constructor of SqliteDatabase.
 	 * <p>
 	 * It is a private constructor
 	 * 
-	 * @param _gui it is the main container, an instance of GUI class
+	 * @param config the settings of the database
 	 */
-	private SqliteDatabase(GUI _gui) {
-		gui = _gui;
-		createUserTables();
-		createCourseTables();
-		createRequestedTable();
-		createEnrolledTable();
+	private SqliteDatabase(DatabaseConfig config) {
+		courseCache = new CourseCache(config.getCourseCacheSize());
+		try {
+			pool = new ConnectionPool(config);
+			metrics.setPool(pool);
+			System.out.print("Database settings from " + config.getSource() + ":\n" + pool.reportSettings());
+		} catch (SQLException e) {
+			throw new DatabaseException("CreateConnection fail!", e);
+		}
+		migrateSchema();
 	}
 
 	/**
 	 * This method is used to call the constructor.
+	 * <p>
+	 * It is synchronized, because the pages call it from the database worker
+	 * thread.
 	 * 
-	 * @param _gui it is the main container, an instance of GUI class
+	 * @return SqliteDatabase
 	 */
-	public static SqliteDatabase instance(GUI _gui) {
+	public static synchronized SqliteDatabase instance() {
 		if (database == null) {
-			database = new SqliteDatabase(_gui);
+			database = new SqliteDatabase(DatabaseConfig.load(DatabaseConfig.DEFAULT_PATH));
+			database.metrics.registerMBeans();
 		}
 		return database;
 	}
 
 	/**
-	 * Create connection between the program and database.
+	 * Open a database which is not shared with the pages.
+	 * <p>
+	 * It is used by the benchmarks and other headless callers, which must close
+	 * it.
+	 * 
+	 * @param config the settings of the database
+	 * @return SqliteDatabase
 	 */
-	private Connection createConnection() {
+	public static SqliteDatabase open(DatabaseConfig config) {
+		return new SqliteDatabase(config);
+	}
 
-		try {
-			Class.forName("org.sqlite.JDBC");
-			return DriverManager.getConnection("jdbc:sqlite:db/courseRegistrationSystem.db");
-		} catch (Exception e) {
-			e.printStackTrace();
-			System.out.println("CreateConnection fail!");
-			Toast.show(gui, "CreateConnection fail!", Color.RED);
+	/**
+	 * Close the connection pool of this database.
+	 */
+	public void close() {
+		System.out.print("Database operations (microseconds):\n" + metrics.getSnapshot());
+		System.out.println(courseCache.report());
+		if (pool != null) {
+			pool.close();
+		}
+	}
+
+	/**
+	 * Close the connection pool of the running instance.
+	 * <p>
+	 * This method is called when the application exits.
+	 */
+	public static synchronized void shutdown() {
+		if (database != null) {
+			database.metrics.unregisterMBeans();
+			database.close();
 		}
-		return null;
 	}
 
 	/**
-	 * Create userTable database.
+	 * Returns the metrics of the operations, the call counts, the error counts
+	 * and the latency histograms.
+	 *
+	 * @return DatabaseMetrics
+	 */
+	public DatabaseMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Returns the course cache, it also holds the hit rate metrics.
+	 *
+	 * @return CourseCache
 	 */
-	private void createUserTables() {
-		String query = "CREATE TABLE IF NOT EXISTS userTable ( " + "user_name TEXT NOT NULL, "
-				+ "password TEXT NOT NULL, " + "email TEXT NOT NULL, " + "role TEXT NOT NULL, "
-				+ "first_name TEXT NOT NULL, " + "last_name TEXT NOT NULL, " + "address TEXT NOT NULL, "
-				+ "birthday TIMESTAMP NOT NULL, " + "create_time TIMESTAMP NOT NULL, "
-				+ "update_time TIMESTAMP NOT NULL);";
+	public CourseCache getCourseCache() {
+		return courseCache;
+	}
 
+	/**
+	 * Borrow a connection between the program and database.
+	 * <p>
+	 * The connection goes back to the pool when it is closed.
+	 */
+	private PooledConnection createConnection() throws SQLException {
+		if (pool == null) {
+			throw new SQLException("The connection pool is not available");
+		}
+		return pool.borrow();
+	}
+
+	/**
+	 * Begin a transaction on a pooled connection.
+	 * <p>
+	 * The transaction must be closed, it is rolled back if it is not committed.
+	 * 
+	 * @return Transaction
+	 */
+	public Transaction beginTransaction() throws SQLException {
+		PooledConnection connection = createConnection();
 		try {
-			Connection connection = createConnection();
-			Statement statement = connection.createStatement();
-			statement.executeUpdate(query);
-			statement.close();
+			return new Transaction(connection);
 		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("CreateUserTables fail!");
-			Toast.show(gui, "CreateUserTables fail!", Color.RED);
+			connection.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Run a unit of work in one transaction.
+	 * <p>
+	 * The work is committed when it returns and rolled back when it throws.
+	 * 
+	 * @param work the unit of work
+	 * @return the result of the work
+	 */
+	public <T> T inTransaction(UnitOfWork<T> work) throws SQLException {
+		try (Transaction transaction = beginTransaction()) {
+			T result = work.run(transaction);
+			transaction.commit();
+			return result;
 		}
+	}
 
+	/**
+	 * Create or upgrade the database tables and indexes.
+	 */
+	private void migrateSchema() {
+		try (PooledConnection connection = createConnection()) {
+			SchemaMigrator.migrate(connection);
+		} catch (SQLException e) {
+			throw new DatabaseException("MigrateSchema fail!", e);
+		}
 	}
 
 	/**
 	 * Login
 	 * 
 	 * @param form the form of the current user
-	 * @return the current user's id
+	 * @return the current user's id, -1 if the user name or the password is wrong
 	 */
 	public long userLogin(Map<String, String> form) {
-
-		long userId = -1; // -1 means it is not exist
-
-		String query = "SELECT rowid, * FROM userTable WHERE user_name=? AND password=?";
-		try {
-
-			Connection connection = createConnection();
-			PreparedStatement statement = connection.prepareStatement(query);
-			// Parameters
-			statement.setString(1, form.get("username"));
-			statement.setString(2, form.get("password"));
-
-			// Execute
-			ResultSet resultSet = statement.executeQuery();
-			if (resultSet.next()) {
-				userId = resultSet.getLong("rowid");
-			} else {
-				Toast.show(gui, "This user is not exist!", Color.RED);
+		return metrics.record("userLogin", () -> {
+			long userId = -1; // -1 means it is not exist
+
+			String query = "SELECT rowid, * FROM userTable WHERE user_name=? AND password=?";
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				// Parameters
+				statement.setString(1, form.get("username"));
+				statement.setString(2, form.get("password"));
+
+				// Execute
+				try (ResultSet resultSet = statement.executeQuery()) {
+					if (resultSet.next()) {
+						userId = resultSet.getLong("rowid");
+					}
+				}
+			} catch (SQLException e) {
+				throw new DatabaseException("Login fail!", e);
 			}
-			statement.close();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("Login fail!");
-			Toast.show(gui, "Login fail!", Color.RED);
-		}
-		return userId;
+			return userId;
+		});
 	}
 
 	/**
 	 * Create a new user
+	 * <p>
+	 * A user name which is already taken inserts nothing, the unique index of
+	 * the user names resolves the conflict.
 	 * 
 	 * @param form the form of the user
-	 * @return the new user's id
+	 * @return the new user's id, -1 if the user name is taken
 	 */
 	public long createUser(Map<String, String> form) {
-		long userId = -1; // -1 means it is not exist
-		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
-		String ts = sdf.format(timestamp);
-
-		String query = "INSERT INTO userTable (user_name, password, email, role, first_name, last_name, address, birthday, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
-		try {
-			Connection connection = createConnection();
-			PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
-			// Parameters
-			statement.setString(1, form.get("username"));
-			statement.setString(2, form.get("password"));
-			statement.setString(3, form.get("email"));
-			statement.setString(4, form.get("role"));
-			statement.setString(5, "");
-			statement.setString(6, "");
-			statement.setString(7, "");
-			statement.setString(8, "");
-			statement.setString(9, ts);
-			statement.setString(10, ts);
-
-			// Execute
-			statement.executeUpdate();
-			ResultSet res = statement.getGeneratedKeys();
-			if (res.next()) {
-				userId = res.getInt(1);
-			} else {
-				Toast.show(gui, "Create a account fail!", Color.RED);
+		return metrics.record("createUser", () -> {
+			long userId = -1; // -1 means it is not exist
+			long now = System.currentTimeMillis();
+
+			String query = "INSERT INTO userTable (user_name, password, email, role, first_name, last_name, address, birthday, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (user_name) DO NOTHING;";
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+				// Parameters
+				statement.setString(1, form.get("username"));
+				statement.setString(2, form.get("password"));
+				statement.setString(3, form.get("email"));
+				statement.setString(4, form.get("role"));
+				statement.setString(5, "");
+				statement.setString(6, "");
+				statement.setString(7, "");
+				statement.setString(8, "");
+				statement.setLong(9, now);
+				statement.setLong(10, now);
+
+				// Execute
+				if (statement.executeUpdate() == 0) {
+					return userId;
+				}
+				try (ResultSet res = statement.getGeneratedKeys()) {
+					if (res.next()) {
+						userId = res.getInt(1);
+					} else {
+						throw new DatabaseException("Create a account fail!");
+					}
+				}
+			} catch (SQLException e) {
+				throw new DatabaseException("Create a account fail!", e);
 			}
-			statement.close();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("Create a account fail");
-			Toast.show(gui, "Create a account fail!", Color.RED);
-		}
-		return userId;
+			return userId;
+		});
 	}
 
 	/**
@@ -183,32 +255,28 @@ public class SqliteDatabase {
 	 * 
 	 * @param userid the current user's id
 	 * @param form   the form of the user
+	 * @return the number of updated users
 	 */
-	public void updateUser(long userid, Map<String, String> form) {
-		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
-		String ts = sdf.format(timestamp);
-		String query = "UPDATE userTable SET first_name = ?, last_name = ?, address = ?, birthday = ?, update_time = ? WHERE rowid = ?;";
-		try {
-			Connection connection = createConnection();
-			PreparedStatement statement = connection.prepareStatement(query);
-			// Parameters
-			statement.setString(1, form.get("first_name"));
-			statement.setString(2, form.get("last_name"));
-			statement.setString(3, form.get("address"));
-			statement.setString(4, form.get("birthday"));
-			statement.setString(5, ts);
-			statement.setLong(6, userid);
-
-			// Execute
-			statement.executeUpdate();
-			statement.close();
-			Toast.show(gui, "Update successfully!", Color.GREEN);
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("UpdateUser fail!");
-			Toast.show(gui, "UpdateUser fail!", Color.RED);
-		}
+	public int updateUser(long userid, Map<String, String> form) {
+		return metrics.record("updateUser", () -> {
+			long now = System.currentTimeMillis();
+			String query = "UPDATE userTable SET first_name = ?, last_name = ?, address = ?, birthday = ?, update_time = ? WHERE rowid = ?;";
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				// Parameters
+				statement.setString(1, form.get("first_name"));
+				statement.setString(2, form.get("last_name"));
+				statement.setString(3, form.get("address"));
+				statement.setString(4, form.get("birthday"));
+				statement.setLong(5, now);
+				statement.setLong(6, userid);
+
+				// Execute
+				return statement.executeUpdate();
+			} catch (SQLException e) {
+				throw new DatabaseException("UpdateUser fail!", e);
+			}
+		});
 	}
 
 	/**
@@ -218,123 +286,119 @@ public class SqliteDatabase {
 	 * @return the user entity
 	 */
 	public UserEntry getUser(long userid) {
-		String selectStatement = "SELECT rowid, * FROM userTable WHERE rowid =" + userid + ";";
-		UserEntry userEntry = null;
-		try {
-			Connection connection = createConnection();
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery(selectStatement);
-			if (resultSet.next()) {
-				userEntry = new UserEntry(resultSet.getLong("rowid"), resultSet.getString("user_name"),
-						resultSet.getString("password"), resultSet.getString("email"), resultSet.getString("role"),
-						resultSet.getString("first_name"), resultSet.getString("last_name"),
-						resultSet.getString("address"), resultSet.getString("birthday"),
-						resultSet.getString("create_time"), resultSet.getString("update_time"));
+		return metrics.record("getUser", () -> {
+			String query = "SELECT rowid, * FROM userTable WHERE rowid = ?;";
+			UserEntry userEntry = null;
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				// Parameters
+				statement.setLong(1, userid);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					if (resultSet.next()) {
+						userEntry = new UserEntry(resultSet.getLong("rowid"), resultSet.getString("user_name"),
+								resultSet.getString("password"), resultSet.getString("email"), resultSet.getString("role"),
+								resultSet.getString("first_name"), resultSet.getString("last_name"),
+								resultSet.getString("address"), resultSet.getString("birthday"),
+								resultSet.getLong("create_time"), resultSet.getLong("update_time"));
+					}
+				}
+			} catch (SQLException e) {
+				throw new DatabaseException("GetUser fail!", e);
 			}
-			statement.close();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("GetUser fail!");
-			Toast.show(gui, "GetUser fail!", Color.RED);
-		}
-		return userEntry;
+			return userEntry;
+		});
 	}
 
 	/**
-	 * Get a list of user
+	 * Get a sorted page of the students who belong to a course
 	 * <p>
-	 * This method is used to select students who belong to a course
+	 * This method is used by the paged roster table. Only the columns of the
+	 * roster are read. The order by id and by request time are served by the
+	 * partial indexes of the course, the order by name sorts the roster of the
+	 * course.
 	 * 
-	 * @param courseid the current course's id
-	 * @return the list of user entity
+	 * @param courseid   the current course's id
+	 * @param sortKey    ID, NAME or REQUEST_TIME
+	 * @param descending whether the order is descending
+	 * @param after      the cursor of the previous page, null for the first page
+	 *                   or when it is unknown
+	 * @param skip       the number of rows before the page, it is only used
+	 *                   without a cursor
+	 * @param limit      the maximum number of students
+	 * @return the list of roster row
 	 */
-	public List<UserEntry> getUserListByCourseId(long courseid) {
-		String query = "SELECT t1.rowid, * FROM userTable t1 INNER JOIN (SELECT \"2\" action_state, * FROM enrolledTable WHERE course_id = ? UNION SELECT  \"1\" action_state, * FROM requestedTable WHERE course_id = ?) t2 ON t1.rowid = t2.student_id;";
-		List<UserEntry> userEntries = new ArrayList<>();
-
-		try {
-			Connection connection = createConnection();
-			PreparedStatement statement = connection.prepareStatement(query);
-
-			// Parameters
-			statement.setLong(1, courseid);
-			statement.setLong(2, courseid);
-			ResultSet resultSet = statement.executeQuery();
-
-			while (resultSet.next()) {
-				userEntries.add(new UserEntry(resultSet.getLong("rowid"), resultSet.getString("user_name"),
-						resultSet.getString("password"), resultSet.getString("email"), resultSet.getString("role"),
-						resultSet.getString("first_name"), resultSet.getString("last_name"),
-						resultSet.getString("address"), resultSet.getString("birthday"),
-						resultSet.getString("create_time"), resultSet.getString("update_time"),
-						resultSet.getString("action_state"), resultSet.getString("action_create_time")));
+	public List<RosterRow> getUserListByCourseId(long courseid, SortKey sortKey, boolean descending,
+			PageCursor after, int skip, int limit) {
+		return metrics.record("getUserListByCourseIdPage", () -> {
+			String sortColumn = rosterSortColumn(sortKey);
+			String query = "SELECT t2.student_id, t1.user_name, t1.email, t2.state AS action_state, t2.action_create_time FROM enrollmentTable t2 INNER JOIN userTable t1 ON t1.rowid = t2.student_id WHERE t2.course_id = ? AND t2."
+					+ SchemaMigrator.ACTIVE_STATES + pageClause(sortColumn, "t2.student_id", descending, after, true);
+			List<RosterRow> rosterRows = new ArrayList<>(limit);
+
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				// Parameters
+				statement.setLong(1, courseid);
+				bindPage(statement, 2, sortColumn, after, skip, limit);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						rosterRows.add(new RosterRow(resultSet.getLong("student_id"), resultSet.getString("user_name"),
+								resultSet.getString("email"),
+								EnrollmentState.toActionState(resultSet.getInt("action_state")),
+								resultSet.getLong("action_create_time")));
+					}
+				}
+			} catch (SQLException e) {
+				throw new DatabaseException("GetUserList fail!", e);
 			}
-			statement.close();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("GetUserList fail!");
-			Toast.show(gui, "GetUserList fail!", Color.RED);
-		}
-		return userEntries;
+			return rosterRows;
+		});
 	}
 
 	/**
-	 * Create courseTable database.
-	 */
-	private void createCourseTables() {
-		String query = "CREATE TABLE IF NOT EXISTS courseTable ( " + "course_name TEXT NOT NULL, "
-				+ "course_hours TEXT NOT NULL, " + "course_type TEXT NOT NULL, " + "course_building TEXT NOT NULL, "
-				+ "instructor_id INTEGER NOT NULL, " + "create_time TIMESTAMP NOT NULL, "
-				+ "update_time TIMESTAMP NOT NULL);";
-
-		try {
-			Connection connection = createConnection();
-			Statement statement = connection.createStatement();
-			statement.executeUpdate(query);
-			statement.close();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("CreateCourseTables fail!");
-			Toast.show(gui, "CreateCourseTables fail!", Color.RED);
-		}
-	}
-
-	/**
-	 * Create requestedTable database.
+	 * Get the number of students who belong to a course
+	 * 
+	 * @param courseid the current course's id
+	 * @return the number of requested and enrolled students
 	 */
-	private void createRequestedTable() {
-		String query = "CREATE TABLE IF NOT EXISTS requestedTable ( " + "student_id INTEGER NOT NULL, "
-				+ "course_id INTEGER NOT NULL, " + "action_create_time TIMESTAMP NOT NULL);";
-
-		try {
-			Connection connection = createConnection();
-			Statement statement = connection.createStatement();
-			statement.executeUpdate(query);
-			statement.close();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("CreateRequestedTable fail!");
-			Toast.show(gui, "CreateRequestedTable fail!", Color.RED);
-		}
+	public int getUserCountByCourseId(long courseid) {
+		return metrics.record("getUserCountByCourseId", () -> {
+			return countRows("SELECT COUNT(*) FROM enrollmentTable WHERE course_id = ? AND "
+					+ SchemaMigrator.ACTIVE_STATES + ";", courseid, "GetUserCount fail!");
+		});
 	}
 
 	/**
-	 * Create enrolledTable database.
+	 * Get the students waiting for the approval of a course
+	 * <p>
+	 * The approve all button uses them, the roster may only hold some pages.
+	 * 
+	 * @param courseid the current course's id
+	 * @return the ids of the students
 	 */
-	private void createEnrolledTable() {
-		String query = "CREATE TABLE IF NOT EXISTS enrolledTable ( " + "student_id INTEGER NOT NULL, "
-				+ "course_id INTEGER NOT NULL, " + "action_create_time TIMESTAMP NOT NULL);";
-
-		try {
-			Connection connection = createConnection();
-			Statement statement = connection.createStatement();
-			statement.executeUpdate(query);
-			statement.close();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("CreateEnrolledTable fail!");
-			Toast.show(gui, "CreateEnrolledTable fail!", Color.RED);
-		}
+	public long[] getPendingStudentIds(long courseid) {
+		return metrics.record("getPendingStudentIds", () -> {
+			String query = "SELECT student_id FROM enrollmentTable WHERE course_id = ? AND state = "
+					+ EnrollmentState.REQUESTED + ";";
+			long[] studentIds = new long[16];
+			int count = 0;
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				// Parameters
+				statement.setLong(1, courseid);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						if (count == studentIds.length) {
+							studentIds = Arrays.copyOf(studentIds, count * 2);
+						}
+						studentIds[count++] = resultSet.getLong(1);
+					}
+				}
+			} catch (SQLException e) {
+				throw new DatabaseException("GetPendingStudentIds fail!", e);
+			}
+			return Arrays.copyOf(studentIds, count);
+		});
 	}
 
 	/**
@@ -345,358 +409,594 @@ public class SqliteDatabase {
 	 * @return the new course's id
 	 */
 	public long createCourse(long instructorid, Map<String, String> form) {
-		long courseId = -1; // -1 means it is not exist
-		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
-		String ts = sdf.format(timestamp);
-
-		String query = "INSERT INTO courseTable (course_name, course_hours, course_type, instructor_id, course_building, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?, ?);";
-		try {
-			Connection connection = createConnection();
-			PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
-			// Parameters
-			statement.setString(1, form.get("course_name"));
-			statement.setString(2, form.get("course_hours"));
-			statement.setString(3, form.get("course_type"));
-			statement.setLong(4, instructorid);
-			statement.setString(5, form.get("course_building"));
-			statement.setString(6, ts);
-			statement.setString(7, ts);
-
-			// Execute
-			statement.executeUpdate();
-			ResultSet res = statement.getGeneratedKeys();
-			if (res.next()) {
-				courseId = res.getInt(1);
-				Toast.show(gui, "CreateCourse successfully!", Color.GREEN);
-			} else {
-				Toast.show(gui, "CreateCourse fail!", Color.RED);
+		return metrics.record("createCourse", () -> {
+			long courseId = -1; // -1 means it is not exist
+			long now = System.currentTimeMillis();
+
+			String query = "INSERT INTO courseTable (course_name, course_hours, course_type, instructor_id, course_building, create_time, update_time) VALUES (?, ?, ?, ?, ?, ?, ?);";
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+				// Parameters
+				statement.setString(1, form.get("course_name"));
+				statement.setString(2, form.get("course_hours"));
+				statement.setString(3, form.get("course_type"));
+				statement.setLong(4, instructorid);
+				statement.setString(5, form.get("course_building"));
+				statement.setLong(6, now);
+				statement.setLong(7, now);
+
+				// Execute
+				statement.executeUpdate();
+				try (ResultSet res = statement.getGeneratedKeys()) {
+					if (res.next()) {
+						courseId = res.getInt(1);
+					} else {
+						throw new DatabaseException("CreateCourse fail!");
+					}
+				}
+			} catch (SQLException e) {
+				throw new DatabaseException("CreateCourse fail!", e);
 			}
-			statement.close();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("CreateCourse  fail!");
-			Toast.show(gui, "CreateCourse fail!", Color.RED);
-		}
-		return courseId;
+			return courseId;
+		});
 	}
 
 	/**
 	 * Get a data of the course
+	 * <p>
+	 * It reads through the course cache, the caller gets its own copy and may
+	 * change it.
 	 * 
 	 * @param courseid the current course's id
 	 * @return the course entity
 	 */
 	public CourseEntry getCourse(long courseid) {
-		String selectStatement = "SELECT rowid, * FROM courseTable WHERE rowid =" + courseid + ";";
+		return metrics.record("getCourse", () -> {
+			CourseEntry courseEntry = courseCache.get(courseid);
+			if (courseEntry == null) {
+				long generation = courseCache.getGeneration();
+				courseEntry = loadCourse(courseid);
+				courseCache.put(courseEntry, generation);
+			}
+			return courseEntry == null ? null : courseEntry.withActionState(courseEntry.getActionState());
+		});
+	}
+
+	/**
+	 * Load a course from the database.
+	 * 
+	 * @param courseid the current course's id
+	 * @return the course entity
+	 */
+	private CourseEntry loadCourse(long courseid) {
+		String query = "SELECT rowid, * FROM courseTable WHERE rowid = ?;";
 		CourseEntry courseEntry = null;
-		try {
-			Connection connection = createConnection();
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery(selectStatement);
-			if (resultSet.next()) {
-				courseEntry = new CourseEntry(resultSet.getLong("rowid"), resultSet.getString("course_name"),
-						resultSet.getString("course_hours"), resultSet.getString("course_type"),
-						resultSet.getLong("instructor_id"), resultSet.getString("course_building"),
-						resultSet.getString("create_time"), resultSet.getString("update_time"));
+		try (PooledConnection connection = createConnection()) {
+			PreparedStatement statement = connection.prepareStatement(query);
+			// Parameters
+			statement.setLong(1, courseid);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				if (resultSet.next()) {
+					courseEntry = new CourseEntry(resultSet.getLong("rowid"), resultSet.getString("course_name"),
+							resultSet.getString("course_hours"), resultSet.getString("course_type"),
+							resultSet.getLong("instructor_id"), resultSet.getString("course_building"),
+							resultSet.getLong("create_time"), resultSet.getLong("update_time"));
+				}
 			}
-			statement.close();
 		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("GetCourse fail!");
-			Toast.show(gui, "GetCourse fail!", Color.RED);
+			throw new DatabaseException("GetCourse fail!", e);
 		}
 		return courseEntry;
 	}
 
 	/**
-	 * Get all course list
-	 * <p>
-	 * This method is used for the student's course register request
+	 * Get the number of courses
 	 * 
-	 * @param studentid the student's id
-	 * @return the list of course entity
+	 * @return the number of rows in courseTable
 	 */
-	public List<CourseEntry> getCourseList(long studentid) {
-
-		String queryRequestedTable = "SELECT t1.rowid, * FROM courseTable t1 INNER JOIN (SELECT * FROM requestedTable WHERE student_id = "
-				+ studentid + ") t2 ON t1.rowid = t2.course_id;";
-		String queryEnrolledTable = "SELECT t1.rowid, * FROM courseTable t1 INNER JOIN (SELECT * FROM enrolledTable WHERE student_id = "
-				+ studentid + ") t2 ON t1.rowid = t2.course_id;";
-		String queryAll = "SELECT rowid, * FROM courseTable;";
-
-		List<CourseEntry> courseEntries = new ArrayList<>();
-		try {
-			Connection connection = createConnection();
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery(queryRequestedTable);
-
-			Set<String> requestedSet = new HashSet<>();
-			while (resultSet.next()) {
-				requestedSet.add(resultSet.getString("course_id"));
-			}
-
-			resultSet = statement.executeQuery(queryEnrolledTable);
-			Set<String> enrolledSet = new HashSet<>();
-			while (resultSet.next()) {
-				enrolledSet.add(resultSet.getString("course_id"));
+	public int getCourseCount() {
+		return metrics.record("getCourseCount", () -> {
+			String query = "SELECT COUNT(*) FROM courseTable;";
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					return resultSet.next() ? resultSet.getInt(1) : 0;
+				}
+			} catch (SQLException e) {
+				throw new DatabaseException("GetCourseCount fail!", e);
 			}
+		});
+	}
 
-			resultSet = statement.executeQuery(queryAll);
-			while (resultSet.next()) {
-				String rowid = String.valueOf(resultSet.getLong("rowid"));
-				String type = "0";
-				if (requestedSet.contains(rowid)) {
-					type = "1";
-				}
-				if (enrolledSet.contains(rowid)) {
-					type = "2";
+	/**
+	 * Get a sorted page of the course list
+	 * <p>
+	 * This method is used by the paged course register table. The page starts
+	 * after the cursor of the previous page (keyset pagination), so a page deep
+	 * in the catalog costs the same as the first one. Every order is served by
+	 * an index of courseTable.
+	 * 
+	 * @param studentid  the student's id
+	 * @param sortKey    ID, NAME or COURSE_TYPE
+	 * @param descending whether the order is descending
+	 * @param after      the cursor of the previous page, null for the first page
+	 *                   or when it is unknown
+	 * @param skip       the number of rows before the page, it is only used
+	 *                   without a cursor
+	 * @param limit      the maximum number of courses
+	 * @return the list of catalog row
+	 */
+	public List<CatalogRow> getCourseList(long studentid, SortKey sortKey, boolean descending, PageCursor after,
+			int skip, int limit) {
+		return metrics.record("getCourseListPage", () -> {
+			String sortColumn = courseSortColumn(sortKey);
+			String query = "SELECT t1.rowid, t1.course_name, t1.course_hours, t1.course_type, t1.course_building, IFNULL(t2.state, "
+					+ EnrollmentState.NONE
+					+ ") AS action_state FROM courseTable t1 LEFT JOIN enrollmentTable t2 ON t2.student_id = ? AND t2.course_id = t1.rowid AND t2."
+					+ SchemaMigrator.ACTIVE_STATES + pageClause(sortColumn, "t1.rowid", descending, after, false);
+
+			List<CatalogRow> catalogRows = new ArrayList<>(limit);
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				// Parameters
+				statement.setLong(1, studentid);
+				bindPage(statement, 2, sortColumn, after, skip, limit);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						catalogRows.add(new CatalogRow(resultSet.getLong("rowid"), resultSet.getString("course_name"),
+								resultSet.getString("course_hours"), resultSet.getString("course_type"),
+								resultSet.getString("course_building"),
+								EnrollmentState.toActionState(resultSet.getInt("action_state"))));
+					}
 				}
-				courseEntries.add(new CourseEntry(resultSet.getLong("rowid"), resultSet.getString("course_name"),
-						resultSet.getString("course_hours"), resultSet.getString("course_type"),
-						resultSet.getLong("instructor_id"), resultSet.getString("course_building"),
-						resultSet.getString("create_time"), resultSet.getString("update_time"), type, ""));
+			} catch (SQLException e) {
+				throw new DatabaseException("GetCourseList fail!", e);
 			}
-
-			statement.close();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("GetCourseList fail!");
-			Toast.show(gui, "GetCourseList fail!", Color.RED);
-		}
-		return courseEntries;
-
+			return catalogRows;
+		});
 	}
 
 	/**
-	 * Get a course list of an instructor
+	 * Get a sorted page of the courses of an instructor
+	 * <p>
+	 * Every order is served by an index of the instructor's courses.
 	 * 
 	 * @param instructorid the instructor's id
-	 * @return the list of course entity
+	 * @param sortKey      ID, NAME or COURSE_TYPE
+	 * @param descending   whether the order is descending
+	 * @param after        the cursor of the previous page, null for the first
+	 *                     page or when it is unknown
+	 * @param skip         the number of rows before the page, it is only used
+	 *                     without a cursor
+	 * @param limit        the maximum number of courses
+	 * @return the list of my course row
 	 */
-	public List<CourseEntry> getInstructorCourseList(long instructorid) {
-		String query = "SELECT rowid, * FROM courseTable WHERE instructor_id =" + instructorid + ";";
-		List<CourseEntry> courseEntries = new ArrayList<>();
-		try {
-			Connection connection = createConnection();
-			Statement statement = connection.createStatement();
-			ResultSet resultSet = statement.executeQuery(query);
-			while (resultSet.next()) {
-				courseEntries.add(new CourseEntry(resultSet.getLong("rowid"), resultSet.getString("course_name"),
-						resultSet.getString("course_hours"), resultSet.getString("course_type"),
-						resultSet.getLong("instructor_id"), resultSet.getString("course_building"),
-						resultSet.getString("create_time"), resultSet.getString("update_time")));
+	public List<MyCourseRow> getInstructorCourseList(long instructorid, SortKey sortKey, boolean descending,
+			PageCursor after, int skip, int limit) {
+		return metrics.record("getInstructorCourseListPage", () -> {
+			String sortColumn = courseSortColumn(sortKey);
+			String query = "SELECT t1.rowid, t1.course_name, t1.course_hours, t1.course_type, t1.course_building FROM courseTable t1 WHERE t1.instructor_id = ?"
+					+ pageClause(sortColumn, "t1.rowid", descending, after, true);
+
+			List<MyCourseRow> courseRows = new ArrayList<>(limit);
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				// Parameters
+				statement.setLong(1, instructorid);
+				bindPage(statement, 2, sortColumn, after, skip, limit);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						courseRows.add(new MyCourseRow(resultSet.getLong("rowid"), resultSet.getString("course_name"),
+								resultSet.getString("course_hours"), resultSet.getString("course_type"),
+								resultSet.getString("course_building"), EnrollmentState.toActionState(EnrollmentState.NONE),
+								0));
+					}
+				}
+			} catch (SQLException e) {
+				throw new DatabaseException("GetInstructorCourseList fail!", e);
 			}
+			return courseRows;
+		});
+	}
 
-			statement.close();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("GetInstructorCourseList fail!");
-			Toast.show(gui, "GetInstructorCourseList fail!", Color.RED);
-		}
-		return courseEntries;
+	/**
+	 * Get the number of courses of an instructor
+	 * 
+	 * @param instructorid the instructor's id
+	 * @return the number of courses
+	 */
+	public int getInstructorCourseCount(long instructorid) {
+		return metrics.record("getInstructorCourseCount", () -> {
+			return countRows("SELECT COUNT(*) FROM courseTable WHERE instructor_id = ?;", instructorid,
+					"GetInstructorCourseCount fail!");
+		});
+	}
 
+	/**
+	 * Get a sorted page of the courses of a student
+	 * <p>
+	 * The order by id and by request time are served by the indexes of the
+	 * student, the order by name and by type sort the courses of the student.
+	 * 
+	 * @param studentid  the student's id
+	 * @param sortKey    ID, NAME, COURSE_TYPE or REQUEST_TIME
+	 * @param descending whether the order is descending
+	 * @param after      the cursor of the previous page, null for the first page
+	 *                   or when it is unknown
+	 * @param skip       the number of rows before the page, it is only used
+	 *                   without a cursor
+	 * @param limit      the maximum number of courses
+	 * @return the list of my course row
+	 */
+	public List<MyCourseRow> getStudentCourseList(long studentid, SortKey sortKey, boolean descending,
+			PageCursor after, int skip, int limit) {
+		return metrics.record("getStudentCourseListPage", () -> {
+			String sortColumn = sortKey == SortKey.REQUEST_TIME ? "t2.action_create_time" : courseSortColumn(sortKey);
+			String query = "SELECT t2.course_id, t1.course_name, t1.course_hours, t1.course_type, t1.course_building, t2.state AS action_state, t2.action_create_time FROM enrollmentTable t2 INNER JOIN courseTable t1 ON t1.rowid = t2.course_id WHERE t2.student_id = ? AND t2."
+					+ SchemaMigrator.ACTIVE_STATES + pageClause(sortColumn, "t2.course_id", descending, after, true);
+
+			List<MyCourseRow> courseRows = new ArrayList<>(limit);
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				// Parameters
+				statement.setLong(1, studentid);
+				bindPage(statement, 2, sortColumn, after, skip, limit);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						courseRows.add(new MyCourseRow(resultSet.getLong("course_id"),
+								resultSet.getString("course_name"), resultSet.getString("course_hours"),
+								resultSet.getString("course_type"), resultSet.getString("course_building"),
+								EnrollmentState.toActionState(resultSet.getInt("action_state")),
+								resultSet.getLong("action_create_time")));
+					}
+				}
+			} catch (SQLException e) {
+				throw new DatabaseException("GetStudentCourseList fail!", e);
+			}
+			return courseRows;
+		});
 	}
 
 	/**
-	 * Get a course list of a student
+	 * Get the number of courses of a student
 	 * 
 	 * @param studentid the student's id
-	 * @return the list of course entity
+	 * @return the number of requested and enrolled courses
 	 */
-	public List<CourseEntry> getStudentCourseList(long studentid) {
-
-		String query = "SELECT t1.rowid, * FROM courseTable t1 INNER JOIN (SELECT \"2\" action_state, * FROM enrolledTable WHERE student_id = ? UNION SELECT  \"1\" action_state, * FROM requestedTable WHERE student_id = ?) t2 ON t1.rowid = t2.course_id;";
-
-		List<CourseEntry> courseEntries = new ArrayList<>();
-		try {
+	public int getStudentCourseCount(long studentid) {
+		return metrics.record("getStudentCourseCount", () -> {
+			return countRows("SELECT COUNT(*) FROM enrollmentTable WHERE student_id = ? AND "
+					+ SchemaMigrator.ACTIVE_STATES + ";", studentid, "GetStudentCourseCount fail!");
+		});
+	}
 
-			Connection connection = createConnection();
+	/**
+	 * Returns the number of rows of a count query with one id parameter.
+	 * 
+	 * @param query   the count query
+	 * @param id      the parameter
+	 * @param message the message of the failure
+	 * @return the count
+	 */
+	private int countRows(String query, long id, String message) {
+		try (PooledConnection connection = createConnection()) {
 			PreparedStatement statement = connection.prepareStatement(query);
-
 			// Parameters
-			statement.setLong(1, studentid);
-			statement.setLong(2, studentid);
-			ResultSet resultSet = statement.executeQuery();
-
-			while (resultSet.next()) {
-				courseEntries.add(new CourseEntry(resultSet.getLong("rowid"), resultSet.getString("course_name"),
-						resultSet.getString("course_hours"), resultSet.getString("course_type"),
-						resultSet.getLong("instructor_id"), resultSet.getString("course_building"),
-						resultSet.getString("create_time"), resultSet.getString("update_time"),
-						resultSet.getString("action_state"), resultSet.getString("action_create_time")));
+			statement.setLong(1, id);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() ? resultSet.getInt(1) : 0;
 			}
-
-			statement.close();
 		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("GetStudentCourseList fail!");
-			Toast.show(gui, "GetStudentCourseList fail!", Color.RED);
+			throw new DatabaseException(message, e);
 		}
-		return courseEntries;
-
 	}
 
 	/**
-	 * Update the information of the course
+	 * Returns the column of a course list sorted by a key, null for the id.
 	 * 
-	 * @param courseid the current course's id
-	 * @param form     the form of the course
+	 * @param sortKey ID, NAME or COURSE_TYPE
+	 * @return the column
 	 */
-	public void updateCourse(long courseid, Map<String, String> form) {
-
-		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
-		String ts = sdf.format(timestamp);
+	private static String courseSortColumn(SortKey sortKey) {
+		switch (sortKey) {
+		case ID:
+			return null;
+		case NAME:
+			return "t1.course_name";
+		case COURSE_TYPE:
+			return "t1.course_type";
+		default:
+			throw new IllegalArgumentException("The courses can not be sorted by " + sortKey);
+		}
+	}
 
-		String query = "UPDATE courseTable SET course_name = ?, course_hours = ?, course_type = ?, course_building = ?, update_time = ? WHERE rowid = ?;";
+	/**
+	 * Returns the column of a roster sorted by a key, null for the id.
+	 * 
+	 * @param sortKey ID, NAME or REQUEST_TIME
+	 * @return the column
+	 */
+	private static String rosterSortColumn(SortKey sortKey) {
+		switch (sortKey) {
+		case ID:
+			return null;
+		case NAME:
+			return "t1.user_name";
+		case REQUEST_TIME:
+			return "t2.action_create_time";
+		default:
+			throw new IllegalArgumentException("The students can not be sorted by " + sortKey);
+		}
+	}
 
-		try {
-			Connection connection = createConnection();
-			PreparedStatement statement = connection.prepareStatement(query);
-			// Parameters
-			statement.setString(1, form.get("course_name"));
-			statement.setString(2, form.get("course_hours"));
-			statement.setString(3, form.get("course_type"));
-			statement.setString(4, form.get("course_building"));
-			statement.setString(5, ts);
-			statement.setLong(6, courseid);
+	/**
+	 * Returns the end of a sorted page query: the condition after the cursor,
+	 * the order and the limit.
+	 * <p>
+	 * The order always ends with the id, so the cursor is unique. The columns
+	 * come from the sort column methods, never from the caller.
+	 * 
+	 * @param sortColumn the sort column, null to sort by the id
+	 * @param idColumn   the id column
+	 * @param descending whether the order is descending
+	 * @param after      the cursor of the previous page, or null
+	 * @param hasWhere   whether the query already has a WHERE clause
+	 * @return the end of the query
+	 */
+	private static String pageClause(String sortColumn, String idColumn, boolean descending, PageCursor after,
+			boolean hasWhere) {
+		String direction = descending ? " DESC" : "";
+		StringBuilder clause = new StringBuilder();
+		if (after != null) {
+			clause.append(hasWhere ? " AND " : " WHERE ");
+			if (sortColumn == null) {
+				clause.append(idColumn).append(descending ? " < ?" : " > ?");
+			} else {
+				// A row value comparison is one range of the index
+				clause.append("(").append(sortColumn).append(", ").append(idColumn).append(")")
+						.append(descending ? " < (?, ?)" : " > (?, ?)");
+			}
+		}
+		clause.append(" ORDER BY ");
+		if (sortColumn != null) {
+			clause.append(sortColumn).append(direction).append(", ");
+		}
+		clause.append(idColumn).append(direction).append(" LIMIT ? OFFSET ?;");
+		return clause.toString();
+	}
 
-			// Execute
-			statement.executeUpdate();
-			statement.close();
-			Toast.show(gui, "UpdateCourse successfully!", Color.GREEN);
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("UpdateCourse  fail!");
-			Toast.show(gui, "UpdateCourse fail!", Color.RED);
+	/**
+	 * Bind the parameters of the clause returned by pageClause.
+	 * 
+	 * @param statement  the statement
+	 * @param index      the index of the first parameter of the clause
+	 * @param sortColumn the sort column, null to sort by the id
+	 * @param after      the cursor of the previous page, or null
+	 * @param skip       the number of rows before the page, it is only used
+	 *                   without a cursor
+	 * @param limit      the maximum number of rows
+	 */
+	private static void bindPage(PreparedStatement statement, int index, String sortColumn, PageCursor after,
+			int skip, int limit) throws SQLException {
+		if (after != null) {
+			if (sortColumn != null) {
+				statement.setObject(index++, after.getValue());
+			}
+			statement.setLong(index++, after.getId());
 		}
+		statement.setInt(index++, limit);
+		statement.setInt(index, after == null ? skip : 0);
+	}
+
+	/**
+	 * Update the information of the course
+	 * 
+	 * @param courseid the current course's id
+	 * @param form     the form of the course
+	 * @return the number of updated courses
+	 */
+	public int updateCourse(long courseid, Map<String, String> form) {
+		return metrics.record("updateCourse", () -> {
+			long now = System.currentTimeMillis();
+
+			String query = "UPDATE courseTable SET course_name = ?, course_hours = ?, course_type = ?, course_building = ?, update_time = ? WHERE rowid = ?;";
+
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				// Parameters
+				statement.setString(1, form.get("course_name"));
+				statement.setString(2, form.get("course_hours"));
+				statement.setString(3, form.get("course_type"));
+				statement.setString(4, form.get("course_building"));
+				statement.setLong(5, now);
+				statement.setLong(6, courseid);
+
+				// Execute
+				return statement.executeUpdate();
+			} catch (SQLException e) {
+				throw new DatabaseException("UpdateCourse fail!", e);
+			} finally {
+				courseCache.invalidate(courseid);
+			}
+		});
 	}
 
 	/**
 	 * Request for Course Registration
 	 * <p>
-	 * Add a data to the Requested table.
+	 * Add a requested row to the Enrollment table, a declined or dropped course
+	 * can be requested again.
 	 * 
 	 * @param studentid the student's id
 	 * @param courseid  the current course's id
+	 * @return 1 if the request is added, 0 if the course is already requested or
+	 *         enrolled
 	 */
-	public void registerCourse(long studentid, long courseid) {
-		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
-		String ts = sdf.format(timestamp);
-
-		String query = "INSERT INTO requestedTable (student_id, course_id, action_create_time) VALUES (?, ?, ?);";
-		try {
-			Connection connection = createConnection();
-			PreparedStatement statement = connection.prepareStatement(query);
-			// Parameters
-			statement.setLong(1, studentid);
-			statement.setLong(2, courseid);
-			statement.setString(3, ts);
-
-			// Execute
-			statement.executeUpdate();
-			statement.close();
-			Toast.show(gui, "RegisterCourse successfully!", Color.GREEN);
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("RegisterCourse  fail!");
-			Toast.show(gui, "RegisterCourse fail!", Color.RED);
-		}
+	public int registerCourse(long studentid, long courseid) {
+		return metrics.record("registerCourse", () -> {
+			long now = System.currentTimeMillis();
+
+			String query = "INSERT INTO enrollmentTable (student_id, course_id, state, action_create_time) VALUES (?, ?, "
+					+ EnrollmentState.REQUESTED
+					+ ", ?) ON CONFLICT (student_id, course_id) DO UPDATE SET state = excluded.state, action_create_time = excluded.action_create_time WHERE state IN ("
+					+ EnrollmentState.DECLINED + ", " + EnrollmentState.DROPPED + ");";
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				// Parameters
+				statement.setLong(1, studentid);
+				statement.setLong(2, courseid);
+				statement.setLong(3, now);
+
+				// Execute
+				return statement.executeUpdate();
+			} catch (SQLException e) {
+				throw new DatabaseException("RegisterCourse fail!", e);
+			}
+		});
 	}
 
 	/**
 	 * Drop a course
 	 * <p>
-	 * Delete a data from the Enrolled table.
+	 * Mark an enrolled row of the Enrollment table as dropped.
 	 * 
 	 * @param studentid the student's id
 	 * @param courseid  the current course's id
+	 * @return 1 if the course is dropped, 0 if the student is not enrolled
 	 */
-	public void dropCourse(long studentid, long courseid) {
-		String query = "DELETE FROM enrolledTable WHERE student_id = ? AND course_id = ?;";
-		try {
-			Connection connection = createConnection();
-			PreparedStatement statement = connection.prepareStatement(query);
-			// Parameters
-			statement.setLong(1, studentid);
-			statement.setLong(2, courseid);
-
-			// Execute
-			statement.executeUpdate();
-			statement.close();
-			Toast.show(gui, "DropCourse successfully!", Color.GREEN);
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("DropCourse  fail!");
-			Toast.show(gui, "DropCourse fail!", Color.RED);
-		}
+	public int dropCourse(long studentid, long courseid) {
+		return metrics.record("dropCourse", () -> {
+			long now = System.currentTimeMillis();
+			String query = "UPDATE enrollmentTable SET state = " + EnrollmentState.DROPPED
+					+ ", action_create_time = ? WHERE student_id = ? AND course_id = ? AND state = "
+					+ EnrollmentState.ENROLLED + ";";
+			try (PooledConnection connection = createConnection()) {
+				PreparedStatement statement = connection.prepareStatement(query);
+				// Parameters
+				statement.setLong(1, now);
+				statement.setLong(2, studentid);
+				statement.setLong(3, courseid);
+
+				// Execute
+				return statement.executeUpdate();
+			} catch (SQLException e) {
+				throw new DatabaseException("DropCourse fail!", e);
+			}
+		});
 	}
 
 	/**
 	 * Approve a student's course register request
 	 * <p>
-	 * Move a data from the Requested table to the Enrolled table.
+	 * Change a requested row of the Enrollment table to enrolled in one UPDATE.
 	 * 
 	 * @param studentid the student's id
 	 * @param courseid  the current course's id
+	 * @return 1 if the request is approved, 0 if it is not pending
 	 */
-	public void approveCourseRequest(long studentid, long courseid) {
-		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
-		String ts = sdf.format(timestamp);
-		String deleteQuery = "DELETE FROM requestedTable WHERE student_id = ? AND course_id = ?;";
-		String query = "INSERT INTO enrolledTable (student_id, course_id, action_create_time) VALUES (?, ?, ?);";
-		try {
-			Connection connection = createConnection();
-			PreparedStatement statement = connection.prepareStatement(deleteQuery);
-			// Parameters
-			statement.setLong(1, studentid);
-			statement.setLong(2, courseid);
-
-			// Execute
-			statement.executeUpdate();
+	public int approveCourseRequest(long studentid, long courseid) {
+		return metrics.record("approveCourseRequest", () -> {
+			try {
+				return changeRequestStates(courseid, new long[] { studentid }, EnrollmentState.ENROLLED).length;
+			} catch (SQLException e) {
+				throw new DatabaseException("ApproveCourseRequest fail!", e);
+			}
+		});
+	}
 
-			statement = connection.prepareStatement(query);
-			// Parameters
-			statement.setLong(1, studentid);
-			statement.setLong(2, courseid);
-			statement.setString(3, ts);
-			// Execute
-			statement.executeUpdate();
-			statement.close();
-			Toast.show(gui, "ApproveCourseRequest successfully!", Color.GREEN);
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("ApproveCourseRequest  fail!");
-			Toast.show(gui, "ApproveCourseRequest fail!", Color.RED);
-		}
+	/**
+	 * Approve many course register requests of a course
+	 * <p>
+	 * Every decision is committed in one transaction, either all of them are
+	 * written or none.
+	 * 
+	 * @param courseid   the current course's id
+	 * @param studentids the ids of the students
+	 * @return the ids of the students whose requests are approved
+	 */
+	public long[] approveCourseRequests(long courseid, long[] studentids) {
+		return metrics.record("approveCourseRequests", () -> {
+			try {
+				return changeRequestStates(courseid, studentids, EnrollmentState.ENROLLED);
+			} catch (SQLException e) {
+				throw new DatabaseException("ApproveCourseRequests fail!", e);
+			}
+		});
 	}
 
 	/**
 	 * Decline a student's course register request
 	 * <p>
-	 * Delete a data from the Requested table.
+	 * Mark a requested row of the Enrollment table as declined.
 	 * 
 	 * @param studentid the student's id
 	 * @param courseid  the current course's id
+	 * @return 1 if the request is declined, 0 if it is not pending
 	 */
-	public void declineCourseRequest(long studentid, long courseid) {
-		String query = "DELETE FROM requestedTable WHERE student_id = ? AND course_id = ?;";
-		try {
-			Connection connection = createConnection();
-			PreparedStatement statement = connection.prepareStatement(query);
-			// Parameters
-			statement.setLong(1, studentid);
-			statement.setLong(2, courseid);
+	public int declineCourseRequest(long studentid, long courseid) {
+		return metrics.record("declineCourseRequest", () -> {
+			try {
+				return changeRequestStates(courseid, new long[] { studentid }, EnrollmentState.DECLINED).length;
+			} catch (SQLException e) {
+				throw new DatabaseException("DeclineCourseRequest fail!", e);
+			}
+		});
+	}
+
+	/**
+	 * Decline many course register requests of a course
+	 * <p>
+	 * Every decision is committed in one transaction, either all of them are
+	 * written or none.
+	 * 
+	 * @param courseid   the current course's id
+	 * @param studentids the ids of the students
+	 * @return the ids of the students whose requests are declined
+	 */
+	public long[] declineCourseRequests(long courseid, long[] studentids) {
+		return metrics.record("declineCourseRequests", () -> {
+			try {
+				return changeRequestStates(courseid, studentids, EnrollmentState.DECLINED);
+			} catch (SQLException e) {
+				throw new DatabaseException("DeclineCourseRequests fail!", e);
+			}
+		});
+	}
+
+	/**
+	 * Change the requested rows of a course to a new state in one transaction.
+	 * 
+	 * @param courseid   the current course's id
+	 * @param studentids the ids of the students
+	 * @param state      the new EnrollmentState value
+	 * @return the ids of the students whose rows changed
+	 */
+	private long[] changeRequestStates(long courseid, long[] studentids, int state) throws SQLException {
+		long now = System.currentTimeMillis();
+		String query = "UPDATE enrollmentTable SET state = ?, action_create_time = ? WHERE student_id = ? AND course_id = ? AND state = "
+				+ EnrollmentState.REQUESTED + ";";
+
+		return inTransaction(transaction -> {
+			PreparedStatement statement = transaction.prepareStatement(query);
+			for (long studentid : studentids) {
+				// Parameters
+				statement.setInt(1, state);
+				statement.setLong(2, now);
+				statement.setLong(3, studentid);
+				statement.setLong(4, courseid);
+				statement.addBatch();
+			}
 
 			// Execute
-			statement.executeUpdate();
-			statement.close();
-		} catch (SQLException e) {
-			e.printStackTrace();
-			System.out.println("DeclineCourseRequest  fail!");
-		}
+			int[] counts = statement.executeBatch();
+			long[] changed = new long[counts.length];
+			int changedCount = 0;
+			for (int i = 0; i < counts.length; i++) {
+				if (counts[i] > 0) {
+					changed[changedCount++] = studentids[i];
+				}
+			}
+			return Arrays.copyOf(changed, changedCount);
+		});
 	}
 }
@@ -0,0 +1,79 @@
+/**
+ * File: SqliteTuningProfile.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a SqliteTuningProfile class, a set of SQLite pragmas applied to every new connection,
+ * such as the WAL journal, the synchronous level and the size of the page cache.
+ */
+
+package courseregistersystem.main.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public class SqliteTuningProfile {
+
+	// Pragma names and values are written into the SQL, so only simple tokens are allowed
+	private static final Pattern SAFE_TOKEN = Pattern.compile("[A-Za-z_]+|-?[0-9]+");
+
+	private final Map<String, String> pragmas = new LinkedHashMap<>();
+
+	/**
+	 * This is the constructor of SqliteTuningProfile.
+	 *
+	 * @param _pragmas the map from the pragma name to its value
+	 */
+	public SqliteTuningProfile(Map<String, String> _pragmas) {
+		for (Map.Entry<String, String> pragma : _pragmas.entrySet()) {
+			if (SAFE_TOKEN.matcher(pragma.getKey()).matches() && SAFE_TOKEN.matcher(pragma.getValue()).matches()) {
+				pragmas.put(pragma.getKey(), pragma.getValue());
+			} else {
+				System.out.println("Ignore invalid pragma " + pragma.getKey() + "=" + pragma.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Apply every pragma to a connection.
+	 *
+	 * @param connection the new connection
+	 */
+	public void apply(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			for (Map.Entry<String, String> pragma : pragmas.entrySet()) {
+				statement.execute("PRAGMA " + pragma.getKey() + " = " + pragma.getValue() + ";");
+			}
+		}
+	}
+
+	/**
+	 * Read back the effective value of every pragma.
+	 * <p>
+	 * SQLite silently ignores some settings, for example WAL on a read-only
+	 * file, so the report shows what the connection really uses.
+	 *
+	 * @param connection a connection with the profile applied
+	 * @return the report, one pragma per line
+	 */
+	public String report(Connection connection) throws SQLException {
+		StringBuilder report = new StringBuilder();
+		try (Statement statement = connection.createStatement()) {
+			for (Map.Entry<String, String> pragma : pragmas.entrySet()) {
+				String effective = "";
+				try (ResultSet resultSet = statement.executeQuery("PRAGMA " + pragma.getKey() + ";")) {
+					if (resultSet.next()) {
+						effective = resultSet.getString(1);
+					}
+				}
+				report.append("  ").append(pragma.getKey()).append(" = ").append(effective).append(" (requested ")
+						.append(pragma.getValue()).append(")\n");
+			}
+		}
+		return report.toString();
+	}
+}
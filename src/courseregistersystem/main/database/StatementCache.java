@@ -0,0 +1,101 @@
+/**
+ * File: StatementCache.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a StatementCache class, a LRU cache of prepared statements keyed by the SQL text.
+ * Each pooled connection owns one cache, so a statement is only used by one thread at a time.
+ */
+
+package courseregistersystem.main.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StatementCache {
+
+	private final Connection connection;
+	private final LinkedHashMap<String, PreparedStatement> statements;
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+	private final SlowQueryLog slowQueryLog;
+
+	/**
+	 * This is the constructor of StatementCache.
+	 *
+	 * @param _connection   the connection which prepares the statements
+	 * @param _maxSize      the maximum number of cached statements
+	 * @param _hits         the shared counter of cache hits
+	 * @param _misses       the shared counter of cache misses
+	 * @param _slowQueryLog the log which times the statements, or null
+	 */
+	StatementCache(Connection _connection, int _maxSize, AtomicLong _hits, AtomicLong _misses,
+			SlowQueryLog _slowQueryLog) {
+		connection = _connection;
+		hits = _hits;
+		misses = _misses;
+		slowQueryLog = _slowQueryLog;
+		// An access ordered map, the eldest entry is the least recently used one
+		statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+				if (size() > _maxSize) {
+					closeQuietly(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns a prepared statement for the SQL text, preparing it on a miss.
+	 *
+	 * @param sql               the SQL text
+	 * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or
+	 *                          Statement.NO_GENERATED_KEYS
+	 * @return PreparedStatement
+	 */
+	PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+		String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : sql;
+		PreparedStatement statement = statements.get(key);
+		if (statement != null && !statement.isClosed()) {
+			hits.incrementAndGet();
+			statement.clearParameters();
+			statement.clearBatch();
+			return statement;
+		}
+		misses.incrementAndGet();
+		statement = SlowQueryStatement.wrap(connection.prepareStatement(sql, autoGeneratedKeys), sql, slowQueryLog);
+		statements.put(key, statement);
+		return statement;
+	}
+
+	/**
+	 * Close every cached statement.
+	 *
+	 */
+	void clear() {
+		for (PreparedStatement statement : statements.values()) {
+			closeQuietly(statement);
+		}
+		statements.clear();
+	}
+
+	/**
+	 * Close a statement and ignore the failure.
+	 *
+	 * @param statement the statement to close
+	 */
+	private static void closeQuietly(PreparedStatement statement) {
+		try {
+			statement.close();
+		} catch (SQLException e) {
+			System.out.println("Close cached statement fail!");
+		}
+	}
+}
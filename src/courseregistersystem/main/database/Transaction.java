@@ -0,0 +1,78 @@
+/**
+ * File: Transaction.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a Transaction class, a unit of work on one pooled connection.
+ * The statements run between begin and commit are written together with a single sync to disk.
+ */
+
+package courseregistersystem.main.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public class Transaction implements AutoCloseable {
+
+	private final PooledConnection pooledConnection;
+	private boolean finished;
+
+	/**
+	 * This is the constructor of Transaction.
+	 * <p>
+	 * It turns off the auto commit mode of the connection.
+	 *
+	 * @param _pooledConnection the connection which runs the transaction
+	 */
+	Transaction(PooledConnection _pooledConnection) throws SQLException {
+		pooledConnection = _pooledConnection;
+		pooledConnection.getConnection().setAutoCommit(false);
+	}
+
+	/**
+	 * Returns a cached prepared statement inside this transaction.
+	 *
+	 * @param sql the SQL text
+	 * @return PreparedStatement
+	 */
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		return pooledConnection.prepareStatement(sql);
+	}
+
+	/**
+	 * Commit every change of this transaction.
+	 *
+	 */
+	public void commit() throws SQLException {
+		Connection connection = pooledConnection.getConnection();
+		connection.commit();
+		connection.setAutoCommit(true);
+		finished = true;
+	}
+
+	/**
+	 * Discard every change of this transaction.
+	 *
+	 */
+	public void rollback() throws SQLException {
+		Connection connection = pooledConnection.getConnection();
+		connection.rollback();
+		connection.setAutoCommit(true);
+		finished = true;
+	}
+
+	/**
+	 * Roll back the transaction if it is not committed and return the connection
+	 * to the pool.
+	 */
+	@Override
+	public void close() throws SQLException {
+		try {
+			if (!finished) {
+				rollback();
+			}
+		} finally {
+			pooledConnection.close();
+		}
+	}
+}
@@ -0,0 +1,14 @@
+/**
+ * File: UnitOfWork.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a UnitOfWork interface, it is the work which SqliteDatabase runs inside one transaction.
+ */
+
+package courseregistersystem.main.database;
+
+import java.sql.SQLException;
+
+public interface UnitOfWork<T> {
+	public T run(Transaction transaction) throws SQLException;
+}
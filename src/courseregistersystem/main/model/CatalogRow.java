@@ -0,0 +1,185 @@
+/**
+ * File: CatalogRow.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a CatalogRow class, a row of the course list on the course register page.
+ * It only holds the columns the page shows and the state of the current student in the course.
+ */
+
+package courseregistersystem.main.model;
+
+public class CatalogRow {
+
+	/**
+	 * The columns of the row, courseHours, courseType and building are shared
+	 * through the ValuePool
+	 */
+	private final long id;
+	private final String courseName;
+	private final String courseHours;
+	private final String courseType;
+	private final String building;
+
+	/**
+	 * actionState is the state of the current student in the course, "0" none,
+	 * "1" requested or "2" enrolled.
+	 * <p>
+	 * It is stored as the EnrollmentState code in one byte.
+	 */
+	private final byte actionState;
+
+	/**
+	 * This is the constructor of CatalogRow.
+	 * 
+	 * @param id           id, it is a courseId
+	 * @param name         courseName
+	 * @param hours        courseHours
+	 * @param type         courseType
+	 * @param building     building
+	 * @param action_state actionState
+	 */
+	public CatalogRow(long id, String name, String hours, String type, String building, String action_state) {
+		this.id = id;
+		this.courseName = name;
+		this.courseHours = ValuePool.intern(hours);
+		this.courseType = ValuePool.intern(type);
+		this.building = ValuePool.intern(building);
+		this.actionState = EnrollmentState.fromActionState(action_state);
+	}
+
+	/**
+	 * Returns the row of a course, with the actionState of the course.
+	 * 
+	 * @param course the course
+	 * @return CatalogRow
+	 */
+	public static CatalogRow of(CourseEntry course) {
+		return new CatalogRow(course.getId(), course.getCourseName(), course.getCourseHours(), course.getCourseType(),
+				course.getBuilding(), course.getActionState());
+	}
+
+	/**
+	 * Returns a copy of this row with another actionState.
+	 * 
+	 * @param action_state actionState
+	 * @return CatalogRow
+	 */
+	public CatalogRow withActionState(String action_state) {
+		return new CatalogRow(id, courseName, courseHours, courseType, building, action_state);
+	}
+
+	/**
+	 * Returns a copy of this row with the columns of a changed course, the
+	 * actionState is kept.
+	 * 
+	 * @param course the changed course
+	 * @return CatalogRow
+	 */
+	public CatalogRow withCourse(CourseEntry course) {
+		return new CatalogRow(id, course.getCourseName(), course.getCourseHours(), course.getCourseType(),
+				course.getBuilding(), getActionState());
+	}
+
+	/**
+	 * Returns the course's id attribute.
+	 * 
+	 * @return id
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the courseName attribute.
+	 * 
+	 * @return courseName
+	 */
+	public String getCourseName() {
+		return courseName;
+	}
+
+	/**
+	 * Returns the courseHours attribute.
+	 * 
+	 * @return courseHours
+	 */
+	public String getCourseHours() {
+		return courseHours;
+	}
+
+	/**
+	 * Returns the courseType attribute.
+	 * 
+	 * @return courseType
+	 */
+	public String getCourseType() {
+		return courseType;
+	}
+
+	/**
+	 * Returns the building attribute.
+	 * 
+	 * @return building
+	 */
+	public String getBuilding() {
+		return building;
+	}
+
+	/**
+	 * Returns the actionState attribute.
+	 * 
+	 * @return actionState
+	 */
+	public String getActionState() {
+		return EnrollmentState.toActionState(actionState);
+	}
+
+	/**
+	 * Returns the actionState attribute as an EnrollmentState code.
+	 * 
+	 * @return NONE, REQUESTED or ENROLLED
+	 */
+	public int getActionStateCode() {
+		return actionState;
+	}
+
+	/**
+	 * Get the attribute by the index.
+	 * 
+	 * @param index from 0 to 4
+	 * @return attribute
+	 */
+	public Object getValueByIndex(int index) {
+		switch (index) {
+		case 0:
+			return id;
+		case 1:
+			return courseName;
+		case 2:
+			return courseHours;
+		case 3:
+			return courseType;
+		case 4:
+			return building;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the value of the row for a sort key, it is the value of a
+	 * PageCursor.
+	 * 
+	 * @param sortKey the sort key of the list
+	 * @return the value, null when the list is sorted by the id
+	 */
+	public Object getSortValue(SortKey sortKey) {
+		switch (sortKey) {
+		case NAME:
+			return courseName;
+		case COURSE_TYPE:
+			return courseType;
+		default:
+			return null;
+		}
+	}
+}
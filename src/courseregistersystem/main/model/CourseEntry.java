@@ -15,24 +15,27 @@ public class CourseEntry {
 	 */
 	private final long id;
 	private String courseName;
+	// courseHours, courseType and building are shared through the ValuePool
 	private String courseHours;
 	private String courseType;
 	private long instructorId;
 	private String building;
-	private String createTime;
-	private String updateTime;
+	private long createTime;
+	private long updateTime;
 
 	/**
 	 * actionState is a flag, including "0", "1" and "2" three values,
 	 * <p>
 	 * "0" This course instance is just associated with the courseTable database.
 	 * <p>
-	 * "1" This data is from the courseTable database and requestedTable database.
+	 * "1" This data is from the courseTable database and a requested row of the enrollmentTable database.
 	 * <p>
-	 * "2" This data is from the courseTable database and enrolledTable database.
+	 * "2" This data is from the courseTable database and an enrolled row of the enrollmentTable database.
+	 * <p>
+	 * It is stored as the EnrollmentState code in one byte.
 	 */
-	private String actionState = "0";
-	private String actionCreateTime;
+	private byte actionState = EnrollmentState.NONE;
+	private long actionCreateTime;
 
 	/**
 	 * This is the constructor of CourseEntry.
@@ -43,17 +46,17 @@ public class CourseEntry {
 	 * @param type          courseType
 	 * @param instructor_id instructorId
 	 * @param building      building
-	 * @param create_time   createTime
-	 * @param update_time   updateTime
+	 * @param create_time   createTime, in epoch milliseconds
+	 * @param update_time   updateTime, in epoch milliseconds
 	 */
 	public CourseEntry(long id, String name, String hours, String type, long instructor_id, String building,
-			String create_time, String update_time) {
+			long create_time, long update_time) {
 		this.id = id;
 		this.courseName = name;
-		this.courseHours = hours;
-		this.courseType = type;
+		this.courseHours = ValuePool.intern(hours);
+		this.courseType = ValuePool.intern(type);
 		this.instructorId = instructor_id;
-		this.building = building;
+		this.building = ValuePool.intern(building);
 		this.createTime = create_time;
 		this.updateTime = update_time;
 	}
@@ -66,9 +69,9 @@ public class CourseEntry {
 	 * <p>
 	 * "0" This course instance is just associated with the courseTable database.
 	 * <p>
-	 * "1" This data is from the courseTable database and requestedTable database.
+	 * "1" This data is from the courseTable database and a requested row of the enrollmentTable database.
 	 * <p>
-	 * "2" This data is from the courseTable database and enrolledTable database.
+	 * "2" This data is from the courseTable database and an enrolled row of the enrollmentTable database.
 	 * 
 	 * @param id                 id, it is a courseId
 	 * @param name               courseName
@@ -76,26 +79,46 @@ public class CourseEntry {
 	 * @param type               courseType
 	 * @param instructor_id      instructorId
 	 * @param building           building
-	 * @param create_time        createTime
-	 * @param update_time        updateTime
+	 * @param create_time        createTime, in epoch milliseconds
+	 * @param update_time        updateTime, in epoch milliseconds
 	 * @param action_state       actionState
-	 * @param action_create_time actionCreateTime
+	 * @param action_create_time actionCreateTime, in epoch milliseconds
 	 */
 	public CourseEntry(long id, String name, String hours, String type, long instructor_id, String building,
-			String create_time, String update_time, String action_state, String action_create_time) {
+			long create_time, long update_time, String action_state, long action_create_time) {
 		this.id = id;
 		this.courseName = name;
-		this.courseHours = hours;
-		this.courseType = type;
+		this.courseHours = ValuePool.intern(hours);
+		this.courseType = ValuePool.intern(type);
 		this.instructorId = instructor_id;
-		this.building = building;
+		this.building = ValuePool.intern(building);
 		this.createTime = create_time;
 		this.updateTime = update_time;
 
-		this.actionState = action_state;
+		this.actionState = EnrollmentState.fromActionState(action_state);
 		this.actionCreateTime = action_create_time;
 	}
 
+	/**
+	 * Returns the course's id attribute.
+	 * 
+	 * @return id
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Returns a copy of this course with another actionState.
+	 * 
+	 * @param action_state actionState
+	 * @return CourseEntry
+	 */
+	public CourseEntry withActionState(String action_state) {
+		return new CourseEntry(id, courseName, courseHours, courseType, instructorId, building, createTime, updateTime,
+				action_state, actionCreateTime);
+	}
+
 	/**
 	 * Returns the courseName attribute.
 	 * 
@@ -123,6 +146,15 @@ public class CourseEntry {
 		return courseType;
 	}
 
+	/**
+	 * Returns the instructorId attribute.
+	 * 
+	 * @return instructorId
+	 */
+	public long getInstructorId() {
+		return instructorId;
+	}
+
 	/**
 	 * Returns the building attribute.
 	 * 
@@ -138,9 +170,46 @@ public class CourseEntry {
 	 * @return actionState
 	 */
 	public String getActionState() {
+		return EnrollmentState.toActionState(actionState);
+	}
+
+	/**
+	 * Returns the actionState attribute as an EnrollmentState code.
+	 * 
+	 * @return NONE, REQUESTED or ENROLLED
+	 */
+	public int getActionStateCode() {
 		return actionState;
 	}
 
+	/**
+	 * Returns the createTime attribute, in epoch milliseconds.
+	 * 
+	 * @return createTime
+	 */
+	public long getCreateTime() {
+		return createTime;
+	}
+
+	/**
+	 * Returns the updateTime attribute, in epoch milliseconds.
+	 * 
+	 * @return updateTime
+	 */
+	public long getUpdateTime() {
+		return updateTime;
+	}
+
+	/**
+	 * Returns the actionCreateTime attribute, in epoch milliseconds, 0 without
+	 * an action.
+	 * 
+	 * @return actionCreateTime
+	 */
+	public long getActionCreateTime() {
+		return actionCreateTime;
+	}
+
 	/**
 	 * Get the attribute by the index.
 	 * 
@@ -178,7 +247,7 @@ public class CourseEntry {
 	 * @param _courseHours
 	 */
 	public void setCourseHours(String _courseHours) {
-		courseHours = _courseHours;
+		courseHours = ValuePool.intern(_courseHours);
 	}
 
 	/**
@@ -187,7 +256,7 @@ public class CourseEntry {
 	 * @param _courseType
 	 */
 	public void setCourseType(String _courseType) {
-		courseType = _courseType;
+		courseType = ValuePool.intern(_courseType);
 	}
 
 	/**
@@ -196,6 +265,6 @@ public class CourseEntry {
 	 * @param _building the address of the course
 	 */
 	public void setCourseBuilding(String _building) {
-		building = _building;
+		building = ValuePool.intern(_building);
 	}
 }
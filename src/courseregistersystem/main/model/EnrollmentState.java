@@ -0,0 +1,55 @@
+/**
+ * File: EnrollmentState.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define an EnrollmentState class for the values of the state column in enrollmentTable.
+ * The values of NONE, REQUESTED and ENROLLED are the same as the actionState flags of the entries.
+ */
+
+package courseregistersystem.main.model;
+
+public class EnrollmentState {
+	// The student has no relation with the course
+	public static final int NONE = 0;
+
+	// The student requested the course and waits for the instructor
+	public static final int REQUESTED = 1;
+
+	// The instructor approved the request
+	public static final int ENROLLED = 2;
+
+	// The instructor declined the request
+	public static final int DECLINED = 3;
+
+	// The student dropped the course after being enrolled
+	public static final int DROPPED = 4;
+
+	// The actionState flags, shared by every entry
+	private static final String[] ACTION_STATES = { "0", "1", "2" };
+
+	/**
+	 * Returns the actionState flag of a state.
+	 *
+	 * @param state NONE, REQUESTED or ENROLLED
+	 * @return "0", "1" or "2"
+	 */
+	public static String toActionState(int state) {
+		return state > NONE && state <= ENROLLED ? ACTION_STATES[state] : ACTION_STATES[NONE];
+	}
+
+	/**
+	 * Returns the state of an actionState flag, an unknown flag is NONE.
+	 *
+	 * @param actionState "0", "1" or "2"
+	 * @return NONE, REQUESTED or ENROLLED
+	 */
+	public static byte fromActionState(String actionState) {
+		if (actionState != null && actionState.length() == 1) {
+			int state = actionState.charAt(0) - '0';
+			if (state > NONE && state <= ENROLLED) {
+				return (byte) state;
+			}
+		}
+		return NONE;
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ * File: MyCourseRow.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a MyCourseRow class, a row of the course list on the home page.
+ * It is a CatalogRow with the time the student requested the course, the courses of an instructor have none.
+ */
+
+package courseregistersystem.main.model;
+
+public class MyCourseRow extends CatalogRow {
+
+	private final long actionCreateTime;
+
+	/**
+	 * This is the constructor of MyCourseRow.
+	 * 
+	 * @param id                 id, it is a courseId
+	 * @param name               courseName
+	 * @param hours              courseHours
+	 * @param type               courseType
+	 * @param building           building
+	 * @param action_state       actionState
+	 * @param action_create_time actionCreateTime, in epoch milliseconds
+	 */
+	public MyCourseRow(long id, String name, String hours, String type, String building, String action_state,
+			long action_create_time) {
+		super(id, name, hours, type, building, action_state);
+		this.actionCreateTime = action_create_time;
+	}
+
+	/**
+	 * Returns the row of a course, with the actionState and the
+	 * actionCreateTime of the course.
+	 * 
+	 * @param course the course
+	 * @return MyCourseRow
+	 */
+	public static MyCourseRow of(CourseEntry course) {
+		return new MyCourseRow(course.getId(), course.getCourseName(), course.getCourseHours(), course.getCourseType(),
+				course.getBuilding(), course.getActionState(), course.getActionCreateTime());
+	}
+
+	@Override
+	public MyCourseRow withActionState(String action_state) {
+		return new MyCourseRow(getId(), getCourseName(), getCourseHours(), getCourseType(), getBuilding(), action_state,
+				actionCreateTime);
+	}
+
+	@Override
+	public MyCourseRow withCourse(CourseEntry course) {
+		return new MyCourseRow(getId(), course.getCourseName(), course.getCourseHours(), course.getCourseType(),
+				course.getBuilding(), getActionState(), actionCreateTime);
+	}
+
+	@Override
+	public Object getSortValue(SortKey sortKey) {
+		if (sortKey == SortKey.REQUEST_TIME) {
+			return actionCreateTime;
+		}
+		return super.getSortValue(sortKey);
+	}
+
+	/**
+	 * Returns the actionCreateTime attribute, in epoch milliseconds, 0 without
+	 * an action.
+	 * 
+	 * @return actionCreateTime
+	 */
+	public long getActionCreateTime() {
+		return actionCreateTime;
+	}
+}
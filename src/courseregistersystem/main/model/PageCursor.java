@@ -0,0 +1,53 @@
+/**
+ * File: PageCursor.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a PageCursor class, the position after the last row of a page in a sorted list.
+ * The next page starts after it (keyset pagination), so a page deep in the list costs the same as the first one.
+ */
+
+package courseregistersystem.main.model;
+
+public class PageCursor {
+
+	/**
+	 * The sort value and the id of the last row, the value is null when the
+	 * list is sorted by the id.
+	 */
+	private final Object value;
+	private final long id;
+
+	/**
+	 * This is the constructor of PageCursor.
+	 * 
+	 * @param _value the sort value of the last row, a String or a Long
+	 * @param _id    the id of the last row
+	 */
+	public PageCursor(Object _value, long _id) {
+		value = _value;
+		id = _id;
+	}
+
+	/**
+	 * Returns the value attribute.
+	 * 
+	 * @return value
+	 */
+	public Object getValue() {
+		return value;
+	}
+
+	/**
+	 * Returns the id attribute.
+	 * 
+	 * @return id
+	 */
+	public long getId() {
+		return id;
+	}
+
+	@Override
+	public String toString() {
+		return "PageCursor(" + value + ", " + id + ")";
+	}
+}
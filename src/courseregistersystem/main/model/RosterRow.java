@@ -0,0 +1,146 @@
+/**
+ * File: RosterRow.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a RosterRow class, a row of the student list on the course page.
+ * It only holds the columns the page shows, the password and the other personal fields of the
+ * student never leave the database for this list.
+ */
+
+package courseregistersystem.main.model;
+
+public class RosterRow {
+
+	/**
+	 * The columns of the row
+	 */
+	private final long id;
+	private final String userName;
+	private final String email;
+
+	/**
+	 * actionState is the state of the student in the course, "1" requested or
+	 * "2" enrolled.
+	 * <p>
+	 * It is stored as the EnrollmentState code in one byte.
+	 */
+	private final byte actionState;
+	private final long actionCreateTime;
+
+	/**
+	 * This is the constructor of RosterRow.
+	 * 
+	 * @param id                 id, it is a userId
+	 * @param name               userName
+	 * @param email              email
+	 * @param action_state       actionState
+	 * @param action_create_time actionCreateTime, in epoch milliseconds
+	 */
+	public RosterRow(long id, String name, String email, String action_state, long action_create_time) {
+		this.id = id;
+		this.userName = name;
+		this.email = email;
+		this.actionState = EnrollmentState.fromActionState(action_state);
+		this.actionCreateTime = action_create_time;
+	}
+
+	/**
+	 * Returns a copy of this row with another actionState.
+	 * 
+	 * @param action_state actionState
+	 * @return RosterRow
+	 */
+	public RosterRow withActionState(String action_state) {
+		return new RosterRow(id, userName, email, action_state, actionCreateTime);
+	}
+
+	/**
+	 * Returns the user's id attribute.
+	 * 
+	 * @return id
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the userName attribute.
+	 * 
+	 * @return userName
+	 */
+	public String getUserName() {
+		return userName;
+	}
+
+	/**
+	 * Returns the email attribute.
+	 * 
+	 * @return email
+	 */
+	public String getEmail() {
+		return email;
+	}
+
+	/**
+	 * Returns the actionState attribute.
+	 * 
+	 * @return actionState
+	 */
+	public String getActionState() {
+		return EnrollmentState.toActionState(actionState);
+	}
+
+	/**
+	 * Returns the actionState attribute as an EnrollmentState code.
+	 * 
+	 * @return NONE, REQUESTED or ENROLLED
+	 */
+	public int getActionStateCode() {
+		return actionState;
+	}
+
+	/**
+	 * Returns the actionCreateTime attribute, in epoch milliseconds.
+	 * 
+	 * @return actionCreateTime
+	 */
+	public long getActionCreateTime() {
+		return actionCreateTime;
+	}
+
+	/**
+	 * Get the attribute by the index.
+	 * 
+	 * @param index from 0 to 2
+	 * @return attribute
+	 */
+	public Object getValueByIndex(int index) {
+		switch (index) {
+		case 0:
+			return id;
+		case 1:
+			return userName;
+		case 2:
+			return email;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the value of the row for a sort key, it is the value of a
+	 * PageCursor.
+	 * 
+	 * @param sortKey the sort key of the list
+	 * @return the value, null when the list is sorted by the id
+	 */
+	public Object getSortValue(SortKey sortKey) {
+		switch (sortKey) {
+		case NAME:
+			return userName;
+		case REQUEST_TIME:
+			return actionCreateTime;
+		default:
+			return null;
+		}
+	}
+}
@@ -0,0 +1,23 @@
+/**
+ * File: SortKey.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a SortKey enum, the orders in which the lists are paged by the database.
+ * Every order ends with the id of the row, so the order of equal values is stable between pages.
+ */
+
+package courseregistersystem.main.model;
+
+public enum SortKey {
+	// The order of creation
+	ID,
+
+	// The course name or the user name
+	NAME,
+
+	// The course type
+	COURSE_TYPE,
+
+	// The time the student requested the course
+	REQUEST_TIME
+}
@@ -0,0 +1,36 @@
+/**
+ * File: TimeFormat.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a TimeFormat class, it turns the epoch millisecond timestamps of the entries into text.
+ * The timestamps are stored and compared as numbers, the text is only built for display.
+ */
+
+package courseregistersystem.main.model;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+public class TimeFormat {
+
+	// DateTimeFormatter is immutable and thread safe, so one instance serves every caller
+	private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+			.withZone(ZoneId.systemDefault());
+
+	private TimeFormat() {
+	}
+
+	/**
+	 * Format a timestamp in the local time zone.
+	 *
+	 * @param epochMillis the timestamp in epoch milliseconds
+	 * @return the text like "2026-10-18 09:30:00", empty for 0
+	 */
+	public static String format(long epochMillis) {
+		if (epochMillis <= 0) {
+			return "";
+		}
+		return FORMATTER.format(Instant.ofEpochMilli(epochMillis));
+	}
+}
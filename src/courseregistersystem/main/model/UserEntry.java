@@ -19,23 +19,26 @@ public class UserEntry {
 	private String firstName;
 	private String lastName;
 	private String email;
+	// role is shared through the ValuePool
 	private String role;
 	private String address;
 	private String birthday;
-	private String createTime;
-	private String updateTime;
+	private long createTime;
+	private long updateTime;
 
 	/**
 	 * actionState is flag, including "0", "1" and "2" three values,
 	 * <p>
 	 * "0" This user instance is just associated with the userTable database.
 	 * <p>
-	 * "1" This data is from the userTable database and requestedTable database.
+	 * "1" This data is from the userTable database and a requested row of the enrollmentTable database.
 	 * <p>
-	 * "2" This data is from the userTable database and enrolledTable database.
+	 * "2" This data is from the userTable database and an enrolled row of the enrollmentTable database.
+	 * <p>
+	 * It is stored as the EnrollmentState code in one byte.
 	 */
-	private String actionState = "0";
-	private String actionCreateTime;
+	private byte actionState = EnrollmentState.NONE;
+	private long actionCreateTime;
 
 	/**
 	 * This is the constructor of UserEntry.
@@ -49,17 +52,17 @@ public class UserEntry {
 	 * @param last_name   lastName
 	 * @param address     address
 	 * @param birthday    birthday
-	 * @param create_time createTime
-	 * @param update_time updateTime
+	 * @param create_time createTime, in epoch milliseconds
+	 * @param update_time updateTime, in epoch milliseconds
 	 */
 	public UserEntry(long id, String name, String password, String email, String role, String first_name,
-			String last_name, String address, String birthday, String create_time, String update_time) {
+			String last_name, String address, String birthday, long create_time, long update_time) {
 
 		this.id = id;
 		this.userName = name;
 		this.password = password;
 		this.email = email;
-		this.role = role;
+		this.role = ValuePool.intern(role);
 		this.firstName = first_name;
 		this.lastName = last_name;
 		this.address = address;
@@ -76,9 +79,9 @@ public class UserEntry {
 	 * <p>
 	 * "0" This user instance is just associated with the userTable database.
 	 * <p>
-	 * "1" This data is from the userTable database and requestedTable database.
+	 * "1" This data is from the userTable database and a requested row of the enrollmentTable database.
 	 * <p>
-	 * "2" This data is from the userTable database and enrolledTable database.
+	 * "2" This data is from the userTable database and an enrolled row of the enrollmentTable database.
 	 * 
 	 * @param id                 id, it is a userId
 	 * @param name               userName
@@ -89,26 +92,26 @@ public class UserEntry {
 	 * @param last_name          lastName
 	 * @param address            address
 	 * @param birthday           birthday
-	 * @param create_time        createTime
-	 * @param update_time        updateTime
+	 * @param create_time        createTime, in epoch milliseconds
+	 * @param update_time        updateTime, in epoch milliseconds
 	 * @param action_state       actionState
-	 * @param action_create_time actionCreateTime
+	 * @param action_create_time actionCreateTime, in epoch milliseconds
 	 */
 	public UserEntry(long id, String name, String password, String email, String role, String first_name,
-			String last_name, String address, String birthday, String create_time, String update_time,
-			String action_state, String action_create_time) {
+			String last_name, String address, String birthday, long create_time, long update_time,
+			String action_state, long action_create_time) {
 		this.id = id;
 		this.userName = name;
 		this.password = password;
 		this.email = email;
-		this.role = role;
+		this.role = ValuePool.intern(role);
 		this.firstName = first_name;
 		this.lastName = last_name;
 		this.address = address;
 		this.birthday = birthday;
 		this.createTime = create_time;
 		this.updateTime = update_time;
-		this.actionState = action_state;
+		this.actionState = EnrollmentState.fromActionState(action_state);
 		this.actionCreateTime = action_create_time;
 	}
 
@@ -121,6 +124,17 @@ public class UserEntry {
 		return id;
 	}
 
+	/**
+	 * Returns a copy of this user with another actionState.
+	 * 
+	 * @param action_state actionState
+	 * @return UserEntry
+	 */
+	public UserEntry withActionState(String action_state) {
+		return new UserEntry(id, userName, password, email, role, firstName, lastName, address, birthday, createTime,
+				updateTime, action_state, actionCreateTime);
+	}
+
 	/**
 	 * Returns the userName attribute.
 	 * 
@@ -190,9 +204,46 @@ public class UserEntry {
 	 * @return actionState
 	 */
 	public String getActionState() {
+		return EnrollmentState.toActionState(actionState);
+	}
+
+	/**
+	 * Returns the actionState attribute as an EnrollmentState code.
+	 * 
+	 * @return NONE, REQUESTED or ENROLLED
+	 */
+	public int getActionStateCode() {
 		return actionState;
 	}
 
+	/**
+	 * Returns the createTime attribute, in epoch milliseconds.
+	 * 
+	 * @return createTime
+	 */
+	public long getCreateTime() {
+		return createTime;
+	}
+
+	/**
+	 * Returns the updateTime attribute, in epoch milliseconds.
+	 * 
+	 * @return updateTime
+	 */
+	public long getUpdateTime() {
+		return updateTime;
+	}
+
+	/**
+	 * Returns the actionCreateTime attribute, in epoch milliseconds, 0 without
+	 * an action.
+	 * 
+	 * @return actionCreateTime
+	 */
+	public long getActionCreateTime() {
+		return actionCreateTime;
+	}
+
 	/**
 	 * Get the attribute by the index.
 	 * 
@@ -0,0 +1,47 @@
+/**
+ * File: ValuePool.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a ValuePool class, a dictionary of the few repeated values of the entries, such as the
+ * course types, the buildings and the roles. Every entry shares one String per distinct value instead of
+ * holding the copy decoded from its row.
+ */
+
+package courseregistersystem.main.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ValuePool {
+
+	/**
+	 * The pool stops growing at this size, the later values are kept as they
+	 * are, so mistyped values can not fill the memory.
+	 */
+	public static final int MAX_SIZE = 4096;
+
+	private static final ConcurrentHashMap<String, String> VALUES = new ConcurrentHashMap<>();
+
+	private ValuePool() {
+	}
+
+	/**
+	 * Returns the shared instance of a value.
+	 *
+	 * @param value the value, it may be null
+	 * @return the pooled value, or the value itself when the pool is full
+	 */
+	public static String intern(String value) {
+		if (value == null) {
+			return null;
+		}
+		String pooled = VALUES.get(value);
+		if (pooled != null) {
+			return pooled;
+		}
+		if (VALUES.size() >= MAX_SIZE) {
+			return value;
+		}
+		pooled = VALUES.putIfAbsent(value, value);
+		return pooled == null ? value : pooled;
+	}
+}
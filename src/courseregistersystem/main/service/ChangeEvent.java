@@ -0,0 +1,110 @@
+/**
+ * File: ChangeEvent.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a ChangeEvent class, it describes one successful change of the registration.
+ * It carries enough data for a page to patch its rows without querying the database again.
+ */
+
+package courseregistersystem.main.service;
+
+import courseregistersystem.main.model.CourseEntry;
+
+public class ChangeEvent {
+
+	/**
+	 * The kinds of change.
+	 */
+	public enum Type {
+		// An instructor created a course, the course is attached
+		COURSE_CREATED,
+		// An instructor changed a course, the new course is attached
+		COURSE_UPDATED,
+		// A student requested a course, the course is attached with the pending state
+		COURSE_REQUESTED,
+		// The requests of the students are approved
+		REQUEST_APPROVED,
+		// The requests of the students are declined
+		REQUEST_DECLINED,
+		// A student dropped a course
+		COURSE_DROPPED
+	}
+
+	private static final long[] NO_STUDENTS = new long[0];
+
+	private final Type type;
+	private final long courseId;
+	private final long[] studentIds;
+	private final CourseEntry course;
+
+	/**
+	 * This is the constructor of ChangeEvent.
+	 *
+	 * @param _type       the kind of change
+	 * @param _courseId   the course's id
+	 * @param _studentIds the students whose state changed, null if none
+	 * @param _course     the course after the change, null if it is not attached
+	 */
+	public ChangeEvent(Type _type, long _courseId, long[] _studentIds, CourseEntry _course) {
+		type = _type;
+		courseId = _courseId;
+		studentIds = _studentIds == null ? NO_STUDENTS : _studentIds;
+		course = _course;
+	}
+
+	/**
+	 * Returns the type attribute.
+	 *
+	 * @return type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the courseId attribute.
+	 *
+	 * @return courseId
+	 */
+	public long getCourseId() {
+		return courseId;
+	}
+
+	/**
+	 * Returns the studentIds attribute, it must not be changed.
+	 *
+	 * @return studentIds
+	 */
+	public long[] getStudentIds() {
+		return studentIds;
+	}
+
+	/**
+	 * Returns the course attribute.
+	 *
+	 * @return course, or null if it is not attached
+	 */
+	public CourseEntry getCourse() {
+		return course;
+	}
+
+	/**
+	 * Check whether the state of a student changed.
+	 *
+	 * @param studentId the student's id
+	 * @return true if the student is one of the studentIds
+	 */
+	public boolean involvesStudent(long studentId) {
+		for (long id : studentIds) {
+			if (id == studentId) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return type + " course " + courseId + " students " + studentIds.length;
+	}
+}
@@ -0,0 +1,60 @@
+/**
+ * File: ChangeEventBus.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a ChangeEventBus class, it hands the ChangeEvents published by RegistrationService
+ * to the subscribed listeners. Each listener chooses the executor it runs on, for example the Swing event
+ * dispatch thread, so the service never depends on the pages.
+ */
+
+package courseregistersystem.main.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+public class ChangeEventBus {
+
+	private final Map<ChangeEventListener, Executor> listeners = new ConcurrentHashMap<>();
+
+	/**
+	 * Subscribe a listener.
+	 *
+	 * @param listener the listener
+	 * @param executor the executor the listener runs on, for example
+	 *                 SwingUtilities::invokeLater
+	 */
+	public void subscribe(ChangeEventListener listener, Executor executor) {
+		listeners.put(listener, executor);
+	}
+
+	/**
+	 * Unsubscribe a listener, it is called when its page is disposed.
+	 *
+	 * @param listener the listener
+	 */
+	public void unsubscribe(ChangeEventListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Hand an event to every listener.
+	 * <p>
+	 * A failing listener is reported and does not stop the others.
+	 *
+	 * @param event the change
+	 */
+	public void publish(ChangeEvent event) {
+		for (Map.Entry<ChangeEventListener, Executor> entry : listeners.entrySet()) {
+			ChangeEventListener listener = entry.getKey();
+			entry.getValue().execute(() -> {
+				try {
+					listener.onChange(event);
+				} catch (RuntimeException e) {
+					e.printStackTrace();
+					System.out.println("Handle " + event + " fail!");
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,12 @@
+/**
+ * File: ChangeEventListener.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a ChangeEventListener interface, it is used to receive the ChangeEvents of the ChangeEventBus.
+ */
+
+package courseregistersystem.main.service;
+
+public interface ChangeEventListener {
+	public void onChange(ChangeEvent event);
+}
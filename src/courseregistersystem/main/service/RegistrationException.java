@@ -0,0 +1,54 @@
+/**
+ * File: RegistrationException.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a RegistrationException class, it is thrown by RegistrationService when a request
+ * breaks a rule of the registration, for example dropping a course which is not enrolled.
+ */
+
+package courseregistersystem.main.service;
+
+public class RegistrationException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The rules which a request can break.
+	 */
+	public enum Reason {
+		// The user name or the password is wrong
+		USER_NOT_FOUND,
+		// Another user already has the user name
+		USERNAME_TAKEN,
+		// The course does not exist
+		COURSE_NOT_FOUND,
+		// The student already requested or enrolled the course
+		ALREADY_REQUESTED,
+		// The student is not enrolled in the course
+		NOT_ENROLLED,
+		// The request is already approved or declined
+		NOT_PENDING
+	}
+
+	private final Reason reason;
+
+	/**
+	 * This is the constructor of RegistrationException.
+	 *
+	 * @param _reason  the broken rule
+	 * @param _message the message shown to the user
+	 */
+	public RegistrationException(Reason _reason, String _message) {
+		super(_message);
+		reason = _reason;
+	}
+
+	/**
+	 * Returns the reason attribute.
+	 *
+	 * @return reason
+	 */
+	public Reason getReason() {
+		return reason;
+	}
+}
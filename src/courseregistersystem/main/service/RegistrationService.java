@@ -0,0 +1,374 @@
+/**
+ * File: RegistrationService.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a RegistrationService class, the headless core of the course registration.
+ * It checks the results of SqliteDatabase and turns a broken rule into a RegistrationException,
+ * so the same engine runs under the Swing pages, a server process or a benchmark.
+ */
+
+package courseregistersystem.main.service;
+
+import courseregistersystem.main.database.SqliteDatabase;
+import courseregistersystem.main.model.CatalogRow;
+import courseregistersystem.main.model.CourseEntry;
+import courseregistersystem.main.model.EnrollmentState;
+import courseregistersystem.main.model.MyCourseRow;
+import courseregistersystem.main.model.PageCursor;
+import courseregistersystem.main.model.RosterRow;
+import courseregistersystem.main.model.SortKey;
+import courseregistersystem.main.model.UserEntry;
+import courseregistersystem.main.service.ChangeEvent.Type;
+import courseregistersystem.main.service.RegistrationException.Reason;
+
+import java.util.List;
+import java.util.Map;
+
+public class RegistrationService {
+
+	private static RegistrationService service;
+	private final SqliteDatabase database;
+	private final ChangeEventBus changeEventBus = new ChangeEventBus();
+
+	/**
+	 * This is the constructor of RegistrationService.
+	 *
+	 * @param _database the database which stores the registration
+	 */
+	public RegistrationService(SqliteDatabase _database) {
+		database = _database;
+	}
+
+	/**
+	 * Returns the service over the default database.
+	 * <p>
+	 * It is synchronized, because the pages call it from the database worker
+	 * thread.
+	 *
+	 * @return RegistrationService
+	 */
+	public static synchronized RegistrationService instance() {
+		if (service == null) {
+			service = new RegistrationService(SqliteDatabase.instance());
+		}
+		return service;
+	}
+
+	/**
+	 * Returns the database attribute.
+	 *
+	 * @return database
+	 */
+	public SqliteDatabase getDatabase() {
+		return database;
+	}
+
+	/**
+	 * Returns the bus of the ChangeEvents.
+	 * <p>
+	 * An event is published after each successful change, on the thread which
+	 * made the change.
+	 *
+	 * @return changeEventBus
+	 */
+	public ChangeEventBus getChangeEventBus() {
+		return changeEventBus;
+	}
+
+	/**
+	 * Login
+	 *
+	 * @param form the form with the username and the password
+	 * @return the current user's entity
+	 */
+	public UserEntry login(Map<String, String> form) {
+		long userId = database.userLogin(form);
+		if (userId == -1) {
+			throw new RegistrationException(Reason.USER_NOT_FOUND, "This user is not exist!");
+		}
+		return getUser(userId);
+	}
+
+	/**
+	 * Create a new user
+	 *
+	 * @param form the form of the user
+	 * @return the new user's entity
+	 */
+	public UserEntry register(Map<String, String> form) {
+		long userId = database.createUser(form);
+		if (userId == -1) {
+			throw new RegistrationException(Reason.USERNAME_TAKEN, "This user name is already taken!");
+		}
+		return getUser(userId);
+	}
+
+	/**
+	 * Get a data of the user
+	 *
+	 * @param userId the user's id
+	 * @return the user entity
+	 */
+	public UserEntry getUser(long userId) {
+		UserEntry user = database.getUser(userId);
+		if (user == null) {
+			throw new RegistrationException(Reason.USER_NOT_FOUND, "This user is not exist!");
+		}
+		return user;
+	}
+
+	/**
+	 * Update the information of the user
+	 *
+	 * @param userId the user's id
+	 * @param form   the form of the user
+	 */
+	public void updateUser(long userId, Map<String, String> form) {
+		if (database.updateUser(userId, form) == 0) {
+			throw new RegistrationException(Reason.USER_NOT_FOUND, "This user is not exist!");
+		}
+	}
+
+	/**
+	 * Create a new course
+	 *
+	 * @param instructorId the id of an instructor
+	 * @param form         the form of the course
+	 * @return the new course's id
+	 */
+	public long createCourse(long instructorId, Map<String, String> form) {
+		long courseId = database.createCourse(instructorId, form);
+		changeEventBus.publish(new ChangeEvent(Type.COURSE_CREATED, courseId, null, getCourse(courseId)));
+		return courseId;
+	}
+
+	/**
+	 * Get a data of the course
+	 *
+	 * @param courseId the course's id
+	 * @return the course entity
+	 */
+	public CourseEntry getCourse(long courseId) {
+		CourseEntry course = database.getCourse(courseId);
+		if (course == null) {
+			throw new RegistrationException(Reason.COURSE_NOT_FOUND, "This course is not exist!");
+		}
+		return course;
+	}
+
+	/**
+	 * Update the information of the course
+	 *
+	 * @param courseId the course's id
+	 * @param form     the form of the course
+	 */
+	public void updateCourse(long courseId, Map<String, String> form) {
+		if (database.updateCourse(courseId, form) == 0) {
+			throw new RegistrationException(Reason.COURSE_NOT_FOUND, "This course is not exist!");
+		}
+		changeEventBus.publish(new ChangeEvent(Type.COURSE_UPDATED, courseId, null, getCourse(courseId)));
+	}
+
+	/**
+	 * Get the number of courses
+	 *
+	 * @return the number of courses
+	 */
+	public int getCourseCount() {
+		return database.getCourseCount();
+	}
+
+	/**
+	 * Get a sorted page of the courses with the states of a student
+	 * <p>
+	 * The page starts after the cursor of the previous page when it is known,
+	 * otherwise after the rows before its position.
+	 *
+	 * @param studentId  the student's id
+	 * @param sortKey    ID, NAME or COURSE_TYPE
+	 * @param descending whether the order is descending
+	 * @param after      the cursor of the previous page, null if it is unknown
+	 * @param offset     the position of the first course of the page
+	 * @param limit      the maximum number of courses
+	 * @return the list of catalog row
+	 */
+	public List<CatalogRow> getCourseList(long studentId, SortKey sortKey, boolean descending, PageCursor after,
+			int offset, int limit) {
+		return database.getCourseList(studentId, sortKey, descending, after, offset, limit);
+	}
+
+	/**
+	 * Get a sorted page of the courses of an instructor
+	 *
+	 * @param instructorId the instructor's id
+	 * @param sortKey      ID, NAME or COURSE_TYPE
+	 * @param descending   whether the order is descending
+	 * @param after        the cursor of the previous page, null if it is unknown
+	 * @param offset       the position of the first course of the page
+	 * @param limit        the maximum number of courses
+	 * @return the list of my course row
+	 */
+	public List<MyCourseRow> getInstructorCourseList(long instructorId, SortKey sortKey, boolean descending,
+			PageCursor after, int offset, int limit) {
+		return database.getInstructorCourseList(instructorId, sortKey, descending, after, offset, limit);
+	}
+
+	/**
+	 * Get the number of courses of an instructor
+	 *
+	 * @param instructorId the instructor's id
+	 * @return the number of courses
+	 */
+	public int getInstructorCourseCount(long instructorId) {
+		return database.getInstructorCourseCount(instructorId);
+	}
+
+	/**
+	 * Get a sorted page of the requested and enrolled courses of a student
+	 *
+	 * @param studentId  the student's id
+	 * @param sortKey    ID, NAME, COURSE_TYPE or REQUEST_TIME
+	 * @param descending whether the order is descending
+	 * @param after      the cursor of the previous page, null if it is unknown
+	 * @param offset     the position of the first course of the page
+	 * @param limit      the maximum number of courses
+	 * @return the list of my course row
+	 */
+	public List<MyCourseRow> getStudentCourseList(long studentId, SortKey sortKey, boolean descending,
+			PageCursor after, int offset, int limit) {
+		return database.getStudentCourseList(studentId, sortKey, descending, after, offset, limit);
+	}
+
+	/**
+	 * Get the number of requested and enrolled courses of a student
+	 *
+	 * @param studentId the student's id
+	 * @return the number of courses
+	 */
+	public int getStudentCourseCount(long studentId) {
+		return database.getStudentCourseCount(studentId);
+	}
+
+	/**
+	 * Get a sorted page of the students who requested or enrolled a course
+	 *
+	 * @param courseId   the course's id
+	 * @param sortKey    ID, NAME or REQUEST_TIME
+	 * @param descending whether the order is descending
+	 * @param after      the cursor of the previous page, null if it is unknown
+	 * @param offset     the position of the first student of the page
+	 * @param limit      the maximum number of students
+	 * @return the list of roster row
+	 */
+	public List<RosterRow> getUserListByCourseId(long courseId, SortKey sortKey, boolean descending,
+			PageCursor after, int offset, int limit) {
+		return database.getUserListByCourseId(courseId, sortKey, descending, after, offset, limit);
+	}
+
+	/**
+	 * Get the number of students who requested or enrolled a course
+	 *
+	 * @param courseId the course's id
+	 * @return the number of students
+	 */
+	public int getUserCountByCourseId(long courseId) {
+		return database.getUserCountByCourseId(courseId);
+	}
+
+	/**
+	 * Get the students waiting for the approval of a course
+	 *
+	 * @param courseId the course's id
+	 * @return the ids of the students
+	 */
+	public long[] getPendingStudentIds(long courseId) {
+		return database.getPendingStudentIds(courseId);
+	}
+
+	/**
+	 * Request for Course Registration
+	 *
+	 * @param studentId the student's id
+	 * @param courseId  the course's id
+	 */
+	public void registerCourse(long studentId, long courseId) {
+		if (database.registerCourse(studentId, courseId) == 0) {
+			throw new RegistrationException(Reason.ALREADY_REQUESTED, "This course is already requested!");
+		}
+		CourseEntry course = getCourse(courseId).withActionState(String.valueOf(EnrollmentState.REQUESTED));
+		changeEventBus.publish(new ChangeEvent(Type.COURSE_REQUESTED, courseId, new long[] { studentId }, course));
+	}
+
+	/**
+	 * Drop a course
+	 *
+	 * @param studentId the student's id
+	 * @param courseId  the course's id
+	 */
+	public void dropCourse(long studentId, long courseId) {
+		if (database.dropCourse(studentId, courseId) == 0) {
+			throw new RegistrationException(Reason.NOT_ENROLLED, "This course is not enrolled!");
+		}
+		changeEventBus.publish(new ChangeEvent(Type.COURSE_DROPPED, courseId, new long[] { studentId }, null));
+	}
+
+	/**
+	 * Approve a student's course register request
+	 *
+	 * @param studentId the student's id
+	 * @param courseId  the course's id
+	 */
+	public void approveCourseRequest(long studentId, long courseId) {
+		if (database.approveCourseRequest(studentId, courseId) == 0) {
+			throw new RegistrationException(Reason.NOT_PENDING, "This request is not pending!");
+		}
+		changeEventBus.publish(new ChangeEvent(Type.REQUEST_APPROVED, courseId, new long[] { studentId }, null));
+	}
+
+	/**
+	 * Decline a student's course register request
+	 *
+	 * @param studentId the student's id
+	 * @param courseId  the course's id
+	 */
+	public void declineCourseRequest(long studentId, long courseId) {
+		if (database.declineCourseRequest(studentId, courseId) == 0) {
+			throw new RegistrationException(Reason.NOT_PENDING, "This request is not pending!");
+		}
+		changeEventBus.publish(new ChangeEvent(Type.REQUEST_DECLINED, courseId, new long[] { studentId }, null));
+	}
+
+	/**
+	 * Approve many course register requests of a course in one transaction
+	 * <p>
+	 * The requests which are no longer pending are skipped.
+	 *
+	 * @param courseId   the course's id
+	 * @param studentIds the ids of the students
+	 * @return the number of approved requests
+	 */
+	public int approveCourseRequests(long courseId, long[] studentIds) {
+		long[] changed = database.approveCourseRequests(courseId, studentIds);
+		if (changed.length > 0) {
+			changeEventBus.publish(new ChangeEvent(Type.REQUEST_APPROVED, courseId, changed, null));
+		}
+		return changed.length;
+	}
+
+	/**
+	 * Decline many course register requests of a course in one transaction
+	 * <p>
+	 * The requests which are no longer pending are skipped.
+	 *
+	 * @param courseId   the course's id
+	 * @param studentIds the ids of the students
+	 * @return the number of declined requests
+	 */
+	public int declineCourseRequests(long courseId, long[] studentIds) {
+		long[] changed = database.declineCourseRequests(courseId, studentIds);
+		if (changed.length > 0) {
+			changeEventBus.publish(new ChangeEvent(Type.REQUEST_DECLINED, courseId, changed, null));
+		}
+		return changed.length;
+	}
+}
@@ -0,0 +1,81 @@
+/**
+ * File: CatalogTableModel.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a CatalogTableModel class, a paged table model of every course with the states of a student.
+ * It is used by the course register page.
+ */
+
+package courseregistersystem.main.ui;
+
+import courseregistersystem.main.model.CatalogRow;
+import courseregistersystem.main.model.PageCursor;
+import courseregistersystem.main.model.SortKey;
+import courseregistersystem.main.service.RegistrationService;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public class CatalogTableModel extends PagedTableModel<CatalogRow> {
+
+	private final long studentId;
+
+	/**
+	 * This is the constructor of CatalogTableModel.
+	 *
+	 * @param _gui         it is the main container, an instance of GUI class
+	 * @param _studentId   the current student's id, the states are his or hers
+	 * @param _columnNames the column names, "ID", "Name", "Hours", "Type",
+	 *                     "Building" and "Action"
+	 */
+	public CatalogTableModel(GUI _gui, long _studentId, String[] _columnNames) {
+		super(_gui, _columnNames);
+		studentId = _studentId;
+	}
+
+	@Override
+	protected Supplier<Integer> countRows() {
+		return () -> RegistrationService.instance().getCourseCount();
+	}
+
+	@Override
+	protected Supplier<List<CatalogRow>> loadPage(SortKey _sortKey, boolean _descending, PageCursor after,
+			int offset, int limit) {
+		return () -> RegistrationService.instance().getCourseList(studentId, _sortKey, _descending, after, offset,
+				limit);
+	}
+
+	@Override
+	protected long getId(CatalogRow entry) {
+		return entry.getId();
+	}
+
+	@Override
+	protected Object getValue(CatalogRow entry, int column) {
+		return entry.getValueByIndex(column);
+	}
+
+	@Override
+	protected String getActionState(CatalogRow entry) {
+		return entry.getActionState();
+	}
+
+	@Override
+	protected Object getSortValue(CatalogRow entry, SortKey _sortKey) {
+		return entry.getSortValue(_sortKey);
+	}
+
+	@Override
+	public SortKey getSortKey(int column) {
+		switch (column) {
+		case 0:
+			return SortKey.ID;
+		case 1:
+			return SortKey.NAME;
+		case 3:
+			return SortKey.COURSE_TYPE;
+		default:
+			return null;
+		}
+	}
+}
@@ -7,7 +7,7 @@
 
 package courseregistersystem.main.ui;
 
-import courseregistersystem.main.database.SqliteDatabase;
+import courseregistersystem.main.service.RegistrationService;
 import courseregistersystem.main.model.UserEntry;
 
 import java.awt.Color;
@@ -105,11 +105,13 @@ public class CourseCreateJPanel extends JPanel {
 		saveButton.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
 				if (isValidForm()) {
-					long id = SqliteDatabase.instance(gui).createCourse(user.getId(), getForm());
-					if (id != -1) {
+					Map<String, String> form = getForm();
+					long userId = user.getId();
+					DatabaseWorker.query(gui, () -> RegistrationService.instance().createCourse(userId, form), id -> {
+						Toast.show(gui, "CreateCourse successfully!", Color.GREEN);
+						// The home page adds the course when it receives the ChangeEvent
 						gui.openNewWindow(gui.getCourseCreateJPanel(), gui.getHomeJPanel(), "Home");
-						gui.getHomeJPanel().updateTable();
-					}
+					});
 				} else { // Some TextFields have no input values.
 					Toast.show(gui, "Form is not valid!", Color.RED);
 				}
@@ -121,6 +123,25 @@ public class CourseCreateJPanel extends JPanel {
 		return panel;
 	}
 
+	/**
+	 * Clear the form, it is called when this page is shown again.
+	 * 
+	 */
+	public void clearForm() {
+		courseNameTextField.clear();
+		courseHoursTextField.clear();
+		courseBuildingTextField.clear();
+	}
+
+	/**
+	 * Returns the user attribute.
+	 * 
+	 * @return user
+	 */
+	public UserEntry getUser() {
+		return user;
+	}
+
 	/**
 	 * Check the validity of the form.
 	 * 
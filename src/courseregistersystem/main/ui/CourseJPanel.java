@@ -7,8 +7,13 @@
 
 package courseregistersystem.main.ui;
 
-import courseregistersystem.main.database.SqliteDatabase;
+import courseregistersystem.main.service.ChangeEvent;
+import courseregistersystem.main.service.ChangeEventListener;
+import courseregistersystem.main.service.RegistrationService;
 import courseregistersystem.main.model.CourseEntry;
+import courseregistersystem.main.model.EnrollmentState;
+import courseregistersystem.main.model.RosterRow;
+import courseregistersystem.main.model.SortKey;
 import courseregistersystem.main.model.UserEntry;
 
 import java.awt.Color;
@@ -16,15 +21,15 @@ import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.border.LineBorder;
 
-public class CourseJPanel extends JPanel implements JTablePanelWithJButtonCallBack {
+public class CourseJPanel extends JPanel implements JTablePanelWithJButtonCallBack, ChangeEventListener {
 
 	// Course Info page
 	private JTextFieldPanelWithLabel courseNameTextField;
@@ -38,6 +43,9 @@ public class CourseJPanel extends JPanel implements JTablePanelWithJButtonCallBa
 	private JLabel actionLabel;
 	private JLabel tableTitleLabel;
 	private JTablePanelWithTwoJButtons table;
+	private RosterTableModel tableModel;
+	private JButton approveAllButton;
+	private long[] pendingStudentIds = new long[0];
 
 	private UserEntry user;
 	private CourseEntry course;
@@ -47,18 +55,18 @@ public class CourseJPanel extends JPanel implements JTablePanelWithJButtonCallBa
 	/**
 	 * This is the constructor of CourseJPanel.
 	 * 
-	 * @param _gui      it is the main container, an instance of GUI class
-	 * @param _user     the current user's entity
-	 * @param _courseId the current course's id
+	 * @param _gui    it is the main container, an instance of GUI class
+	 * @param _user   the current user's entity
+	 * @param _course the current course's entity
 	 */
-	public CourseJPanel(GUI _gui, UserEntry _user, long _courseId) {
+	public CourseJPanel(GUI _gui, UserEntry _user, CourseEntry _course) {
 		setLayout(null);
 		setSize(GUIConstants.WINDOW_WIDTH, GUIConstants.WINDOW_HEIGHT);
 
 		gui = _gui;
 		user = _user;
-		courseId = _courseId;
-		getCourseData(courseId);
+		course = _course;
+		courseId = course.getId();
 
 		gobackButton = new JButton("Goback");
 		gobackButton.setSize(GUIConstants.WIDTH_80, GUIConstants.HEIGHT_20);
@@ -78,9 +86,46 @@ public class CourseJPanel extends JPanel implements JTablePanelWithJButtonCallBa
 		if (user != null && user.getRole().equals("Instructor")) {
 			JPanel tablePanel = buildTablePanel();
 			add(tablePanel);
+
+			// Load the students in the background, then follow the changes
+			updateTable();
+			RegistrationService.instance().getChangeEventBus().subscribe(this, SwingUtilities::invokeLater);
+		}
+	}
+
+	/**
+	 * Show another course on this page.
+	 * <p>
+	 * The components are kept, only the form and the students are replaced.
+	 * 
+	 * @param _course the course's entity
+	 */
+	public void bind(CourseEntry _course) {
+		course = _course;
+		courseId = course.getId();
+		courseNameTextField.setValue(course.getCourseName());
+		courseHoursTextField.setValue(course.getCourseHours());
+		courseBuildingTextField.setValue(course.getBuilding());
+		optPanel.setSelected(course.getCourseType());
+		switchEditStatus(false);
+
+		if (tableModel != null) {
+			pendingStudentIds = new long[0];
+			approveAllButton.setEnabled(false);
+			tableModel.setCourseId(courseId);
+			updatePendingStudentIds();
 		}
 	}
 
+	/**
+	 * Returns the user attribute.
+	 * 
+	 * @return user
+	 */
+	public UserEntry getUser() {
+		return user;
+	}
+
 	/**
 	 * Build the course information form panel.
 	 * 
@@ -171,10 +216,16 @@ public class CourseJPanel extends JPanel implements JTablePanelWithJButtonCallBa
 				public void actionPerformed(ActionEvent e) {
 					Map<String, String> form = getForm();
 					if (isValidForm()) {
-						SqliteDatabase.instance(gui).updateCourse(courseId, getForm());
-						updateCourseData(form);
-						switchEditStatus(false);
-						gui.getHomeJPanel().updateTable();
+						long updatedCourseId = courseId;
+						DatabaseWorker.execute(gui,
+								() -> RegistrationService.instance().updateCourse(updatedCourseId, form),
+								() -> {
+									Toast.show(gui, "UpdateCourse successfully!", Color.GREEN);
+									if (updatedCourseId == courseId) {
+										updateCourseData(form);
+										switchEditStatus(false);
+									}
+								});
 					} else {
 						Toast.show(gui, "Form is not valid!", Color.RED);
 					}
@@ -205,8 +256,28 @@ public class CourseJPanel extends JPanel implements JTablePanelWithJButtonCallBa
 		tableTitleLabel.setLocation(0, GUIConstants.MARGIN_20);
 		panel.add(tableTitleLabel);
 
-		table = new JTablePanelWithTwoJButtons(getTableData(), getTableColumnNames(),
-				new String[] { "", "Approve/Decline", "Enrolled" }, this);
+		approveAllButton = new JButton("Approve All");
+		approveAllButton.setFont(new Font("Arial", Font.PLAIN, GUIConstants.FRONTSIZE_S));
+		approveAllButton.setSize(GUIConstants.WIDTH_110, GUIConstants.HEIGHT_20);
+		approveAllButton.setLocation(GUIConstants.WIDTH_700 - GUIConstants.WIDTH_110, GUIConstants.MARGIN_20);
+		approveAllButton.setEnabled(false);
+		// Click the approve all button to approve every pending request in one
+		// transaction
+		approveAllButton.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				long[] studentIds = pendingStudentIds;
+				long approvedCourseId = courseId;
+				DatabaseWorker.query(gui,
+						() -> RegistrationService.instance().approveCourseRequests(approvedCourseId, studentIds),
+						approved -> {
+							Toast.show(gui, approved + " requests approved!", Color.GREEN);
+						});
+			}
+		});
+		panel.add(approveAllButton);
+
+		tableModel = new RosterTableModel(gui, courseId, getTableColumnNames());
+		table = new JTablePanelWithTwoJButtons(tableModel, new String[] { "", "Approve/Decline", "Enrolled" }, this);
 		table.setOpaque(true);
 		table.setSize(GUIConstants.WIDTH_700, GUIConstants.HEIGHT_160);
 		table.setLocation(0, GUIConstants.MARGIN_50);
@@ -233,17 +304,6 @@ public class CourseJPanel extends JPanel implements JTablePanelWithJButtonCallBa
 		}
 	}
 
-	/**
-	 * Get the current course's data.
-	 * 
-	 */
-	private void getCourseData(long id) {
-		// Clear the course
-		course = null;
-		// Initiate the course
-		course = SqliteDatabase.instance(gui).getCourse(id);
-	}
-
 	/**
 	 * Get the columnNames for the JTable.
 	 * 
@@ -256,26 +316,46 @@ public class CourseJPanel extends JPanel implements JTablePanelWithJButtonCallBa
 	}
 
 	/**
-	 * Get the data for the JTable.
+	 * Update the data for the JTable.
+	 * <p>
+	 * The students are counted in the background, the pages around the visible
+	 * rows are queried when the JTable shows them.
 	 * 
-	 * @return data it is String[][].
 	 */
-	private String[][] getTableData() {
-		List<UserEntry> userEntries = SqliteDatabase.instance(gui).getUserListByCourseId(courseId);
-		String[][] data;
-		if (userEntries != null && userEntries.size() > 0) {
-			data = new String[userEntries.size()][getTableColumnNames().length];
-			for (int i = 0; i < userEntries.size(); i++) {
-				UserEntry item = userEntries.get(i);
-				for (int j = 0; j < data[i].length - 1; j++) {
-					data[i][j] = item.getValueByIndex(j).toString();
-				}
-				data[i][data[i].length - 1] = item.getActionState();
-			}
-		} else {
-			data = null;
+	private void updateTable() {
+		tableModel.reload();
+		updatePendingStudentIds();
+	}
+
+	/**
+	 * Query the students waiting for approval in the background, they are
+	 * approved by the approve all button.
+	 * 
+	 */
+	private void updatePendingStudentIds() {
+		long queriedCourseId = courseId;
+		DatabaseWorker.fetch(gui, () -> RegistrationService.instance().getPendingStudentIds(queriedCourseId),
+				studentIds -> {
+					if (queriedCourseId != courseId) {
+						// Another course was shown meanwhile
+						return;
+					}
+					pendingStudentIds = studentIds;
+					approveAllButton.setEnabled(studentIds.length > 0);
+				});
+	}
+
+	/**
+	 * Change the state of a student in the JTable and repaint only its row.
+	 * 
+	 * @param studentId   the student's id
+	 * @param actionState the new state
+	 */
+	private void updateActionState(long studentId, String actionState) {
+		RosterRow entry = tableModel.getEntryById(studentId);
+		if (entry != null) {
+			tableModel.putEntry(entry.withActionState(actionState));
 		}
-		return data;
 	}
 
 	/**
@@ -327,13 +407,58 @@ public class CourseJPanel extends JPanel implements JTablePanelWithJButtonCallBa
 	 */
 	@Override
 	public void initCallBack(long rowId, String label) {
-		if (label == "Approve") {
-			SqliteDatabase.instance(gui).approveCourseRequest(rowId, courseId);
-		} else if (label == "Decline") {
-			SqliteDatabase.instance(gui).declineCourseRequest(rowId, courseId);
+		// The worker reads the course of the click, another course may be shown meanwhile
+		long clickedCourseId = courseId;
+		DatabaseWorker.execute(gui, () -> {
+			if (label == "Approve") {
+				RegistrationService.instance().approveCourseRequest(rowId, clickedCourseId);
+			} else if (label == "Decline") {
+				RegistrationService.instance().declineCourseRequest(rowId, clickedCourseId);
+			}
+		}, () -> {
+			if (label == "Approve") {
+				Toast.show(gui, "ApproveCourseRequest successfully!", Color.GREEN);
+			}
+		});
+	}
+
+	/**
+	 * Apply a change of the registration to the students of the current course.
+	 * 
+	 */
+	@Override
+	public void onChange(ChangeEvent event) {
+		if (event.getCourseId() != courseId) {
+			return;
+		}
+		switch (event.getType()) {
+		case COURSE_REQUESTED:
+		case REQUEST_DECLINED:
+		case COURSE_DROPPED:
+			// The number of students changed, so the students are counted again
+			updateTable();
+			break;
+		case REQUEST_APPROVED:
+			if (tableModel.getSortKey() == SortKey.REQUEST_TIME) {
+				// The approval rewrote the request times, so the students moved in the order
+				updateTable();
+				break;
+			}
+			for (long studentId : event.getStudentIds()) {
+				updateActionState(studentId, EnrollmentState.toActionState(EnrollmentState.ENROLLED));
+			}
+			updatePendingStudentIds();
+			break;
+		default:
+			break;
 		}
-		table.updateDataVector(getTableData(), getTableColumnNames());
-		gui.getHomeJPanel().updateTable();
 	}
 
+	/**
+	 * Stop receiving the ChangeEvents, it is called when this page is replaced.
+	 * 
+	 */
+	public void dispose() {
+		RegistrationService.instance().getChangeEventBus().unsubscribe(this);
+	}
 }
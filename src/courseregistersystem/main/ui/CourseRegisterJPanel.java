@@ -7,23 +7,28 @@
 
 package courseregistersystem.main.ui;
 
-import courseregistersystem.main.database.SqliteDatabase;
-import courseregistersystem.main.model.CourseEntry;
+import courseregistersystem.main.service.ChangeEvent;
+import courseregistersystem.main.service.ChangeEventListener;
+import courseregistersystem.main.service.RegistrationService;
+import courseregistersystem.main.model.CatalogRow;
+import courseregistersystem.main.model.EnrollmentState;
 import courseregistersystem.main.model.UserEntry;
 
+import java.awt.Color;
 import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
 
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
-public class CourseRegisterJPanel extends JPanel implements JTablePanelWithJButtonCallBack {
+public class CourseRegisterJPanel extends JPanel implements JTablePanelWithJButtonCallBack, ChangeEventListener {
 
 	// Register a new course page
 	private JTablePanelWithOneJButton table;
+	private CatalogTableModel tableModel;
 	private UserEntry user;
 	private GUI gui;
 
@@ -55,6 +60,19 @@ public class CourseRegisterJPanel extends JPanel implements JTablePanelWithJButt
 		// Build the JTable
 		JPanel tablePanel = buildTablePanel();
 		add(tablePanel);
+
+		// Count the courses in the background, the pages are loaded when they are shown
+		updateTable();
+		RegistrationService.instance().getChangeEventBus().subscribe(this, SwingUtilities::invokeLater);
+	}
+
+	/**
+	 * Returns the user attribute.
+	 * 
+	 * @return user
+	 */
+	public UserEntry getUser() {
+		return user;
 	}
 
 	/**
@@ -74,8 +92,8 @@ public class CourseRegisterJPanel extends JPanel implements JTablePanelWithJButt
 		tableTitleLabel.setLocation(0, GUIConstants.MARGIN_10);
 		panel.add(tableTitleLabel);
 
-		table = new JTablePanelWithOneJButton(getTableData(user.getId()), getTableColumnNames(),
-				new String[] { "Request", "Pending", "Enrolled" }, this);
+		tableModel = new CatalogTableModel(gui, user.getId(), getTableColumnNames());
+		table = new JTablePanelWithOneJButton(tableModel, new String[] { "Request", "Pending", "Enrolled" }, this);
 		table.setOpaque(true);
 		table.setSize(GUIConstants.WIDTH_700, GUIConstants.HEIGHT_280);
 		table.setLocation(0, GUIConstants.MARGIN_40);
@@ -96,27 +114,14 @@ public class CourseRegisterJPanel extends JPanel implements JTablePanelWithJButt
 	}
 
 	/**
-	 * Get the data for the JTable.
+	 * Update the data for the JTable.
+	 * <p>
+	 * Only the pages around the visible rows are queried, in the background, so
+	 * a large catalog is never loaded at once.
 	 * 
-	 * @return data it is String[][].
 	 */
-	private String[][] getTableData(long studentid) {
-		List<CourseEntry> courseEntries = SqliteDatabase.instance(gui).getCourseList(studentid);
-		String[][] data;
-		if (courseEntries != null && courseEntries.size() > 0) {
-			data = new String[courseEntries.size()][getTableColumnNames().length];
-			for (int i = 0; i < courseEntries.size(); i++) {
-				CourseEntry item = courseEntries.get(i);
-				for (int j = 0; j < data[i].length - 1; j++) {
-					data[i][j] = item.getValueByIndex(j).toString();
-				}
-				data[i][data[i].length - 1] = item.getActionState();
-			}
-		} else {
-			data = null;
-		}
-
-		return data;
+	private void updateTable() {
+		tableModel.reload();
 	}
 
 	/**
@@ -126,9 +131,58 @@ public class CourseRegisterJPanel extends JPanel implements JTablePanelWithJButt
 	@Override
 	public void initCallBack(long rowId, String label) {
 		if (label == "Request") {
-			SqliteDatabase.instance(gui).registerCourse(user.getId(), rowId);
-			table.updateDataVector(getTableData(user.getId()), getTableColumnNames());
-			gui.getHomeJPanel().updateTable();
+			long studentid = user.getId();
+			DatabaseWorker.execute(gui, () -> RegistrationService.instance().registerCourse(studentid, rowId), () -> {
+				Toast.show(gui, "RegisterCourse successfully!", Color.GREEN);
+			});
+		}
+	}
+
+	/**
+	 * Apply a change of the registration to the loaded pages of the course list.
+	 * 
+	 */
+	@Override
+	public void onChange(ChangeEvent event) {
+		if (event.getType() == ChangeEvent.Type.COURSE_CREATED) {
+			// The number of rows changed
+			tableModel.reload();
+			return;
+		}
+		CatalogRow entry = tableModel.getEntryById(event.getCourseId());
+		if (entry == null) {
+			return;
 		}
+		switch (event.getType()) {
+		case COURSE_UPDATED:
+			tableModel.putEntry(entry.withCourse(event.getCourse()));
+			break;
+		case COURSE_REQUESTED:
+			if (event.involvesStudent(user.getId())) {
+				tableModel.putEntry(CatalogRow.of(event.getCourse()));
+			}
+			break;
+		case REQUEST_APPROVED:
+			if (event.involvesStudent(user.getId())) {
+				tableModel.putEntry(entry.withActionState(EnrollmentState.toActionState(EnrollmentState.ENROLLED)));
+			}
+			break;
+		case REQUEST_DECLINED:
+		case COURSE_DROPPED:
+			if (event.involvesStudent(user.getId())) {
+				tableModel.putEntry(entry.withActionState(EnrollmentState.toActionState(EnrollmentState.NONE)));
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Stop receiving the ChangeEvents, it is called when this page is replaced.
+	 * 
+	 */
+	public void dispose() {
+		RegistrationService.instance().getChangeEventBus().unsubscribe(this);
 	}
 }
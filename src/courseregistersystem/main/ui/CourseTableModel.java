@@ -0,0 +1,95 @@
+/**
+ * File: CourseTableModel.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a CourseTableModel class, a paged table model of the courses of the current user.
+ * It is used by the home page, an instructor sees his or her courses and a student the requested and
+ * enrolled ones.
+ */
+
+package courseregistersystem.main.ui;
+
+import courseregistersystem.main.model.MyCourseRow;
+import courseregistersystem.main.model.PageCursor;
+import courseregistersystem.main.model.SortKey;
+import courseregistersystem.main.service.RegistrationService;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public class CourseTableModel extends PagedTableModel<MyCourseRow> {
+
+	private final long userId;
+	private final boolean isInstructor;
+
+	/**
+	 * This is the constructor of CourseTableModel.
+	 *
+	 * @param _gui          it is the main container, an instance of GUI class
+	 * @param _userId       the current user's id
+	 * @param _isInstructor whether the current user's role is "Instructor"
+	 * @param _columnNames  the column names, "ID", "Name", "Hours", "Type",
+	 *                      "Building" and "Action"
+	 */
+	public CourseTableModel(GUI _gui, long _userId, boolean _isInstructor, String[] _columnNames) {
+		super(_gui, _columnNames);
+		userId = _userId;
+		isInstructor = _isInstructor;
+	}
+
+	@Override
+	protected Supplier<Integer> countRows() {
+		if (isInstructor) {
+			return () -> RegistrationService.instance().getInstructorCourseCount(userId);
+		}
+		return () -> RegistrationService.instance().getStudentCourseCount(userId);
+	}
+
+	@Override
+	protected Supplier<List<MyCourseRow>> loadPage(SortKey _sortKey, boolean _descending, PageCursor after,
+			int offset, int limit) {
+		if (isInstructor) {
+			return () -> RegistrationService.instance().getInstructorCourseList(userId, _sortKey, _descending,
+					after, offset, limit);
+		}
+		return () -> RegistrationService.instance().getStudentCourseList(userId, _sortKey, _descending, after,
+				offset, limit);
+	}
+
+	@Override
+	protected long getId(MyCourseRow entry) {
+		return entry.getId();
+	}
+
+	@Override
+	protected Object getValue(MyCourseRow entry, int column) {
+		return entry.getValueByIndex(column);
+	}
+
+	@Override
+	protected String getActionState(MyCourseRow entry) {
+		return entry.getActionState();
+	}
+
+	@Override
+	protected Object getSortValue(MyCourseRow entry, SortKey _sortKey) {
+		return entry.getSortValue(_sortKey);
+	}
+
+	@Override
+	public SortKey getSortKey(int column) {
+		switch (column) {
+		case 0:
+			return SortKey.ID;
+		case 1:
+			return SortKey.NAME;
+		case 3:
+			return SortKey.COURSE_TYPE;
+		case 5:
+			// The courses of an instructor have no request
+			return isInstructor ? null : SortKey.REQUEST_TIME;
+		default:
+			return null;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+/**
+ * File: DatabaseWorker.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a DatabaseWorker class, it runs the RegistrationService calls of the pages on a dedicated
+ * thread and hands the results back to the Swing event dispatch thread, so a slow query never freezes the window.
+ * A failed call is shown as a toast with the message of its exception.
+ */
+
+package courseregistersystem.main.ui;
+
+import courseregistersystem.main.database.DatabaseException;
+import courseregistersystem.main.service.RegistrationException;
+
+import java.awt.Color;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+public class DatabaseWorker {
+
+	/**
+	 * One thread keeps the calls in the order of the clicks, for example a
+	 * refresh always sees the approval clicked before it.
+	 */
+	private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "database-worker");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private DatabaseWorker() {
+	}
+
+	/**
+	 * Run a query in the background and use its result on the event dispatch
+	 * thread.
+	 * <p>
+	 * The window shows the busy indicator until the result is handled.
+	 *
+	 * @param gui    it is the main container, an instance of GUI class
+	 * @param query  the database call, it runs on the worker thread
+	 * @param onDone the handler of the result, it runs on the event dispatch
+	 *               thread
+	 * @return the future of the result
+	 */
+	public static <T> CompletableFuture<T> query(GUI gui, Supplier<T> query, Consumer<T> onDone) {
+		return submit(gui, query, onDone, true);
+	}
+
+	/**
+	 * Run a query in the background without the busy indicator.
+	 * <p>
+	 * It is used for the prefetching of the tables, the pages stay usable while
+	 * it runs.
+	 *
+	 * @param gui    it is the main container, an instance of GUI class
+	 * @param query  the database call, it runs on the worker thread
+	 * @param onDone the handler of the result, it runs on the event dispatch
+	 *               thread
+	 * @return the future of the result
+	 */
+	public static <T> CompletableFuture<T> fetch(GUI gui, Supplier<T> query, Consumer<T> onDone) {
+		return submit(gui, query, onDone, false);
+	}
+
+	/**
+	 * Run a task on the worker thread before the calls of the pages.
+	 * <p>
+	 * It is used to open the database while the window is built. The calls
+	 * submitted later wait for it, because the worker has one thread.
+	 *
+	 * @param task the task, it runs on the worker thread
+	 * @return the future of the task
+	 */
+	public static CompletableFuture<Void> run(Runnable task) {
+		CompletableFuture<Void> future = CompletableFuture.runAsync(task, EXECUTOR);
+		future.whenComplete((result, error) -> {
+			if (error != null) {
+				// The next call of a page fails again and shows the message
+				error.printStackTrace();
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Run a query on the worker thread and hand its result to the event
+	 * dispatch thread.
+	 *
+	 * @param gui    it is the main container, an instance of GUI class
+	 * @param query  the database call
+	 * @param onDone the handler of the result
+	 * @param busy   whether the busy indicator is shown
+	 * @return the future of the result
+	 */
+	private static <T> CompletableFuture<T> submit(GUI gui, Supplier<T> query, Consumer<T> onDone, boolean busy) {
+		if (busy) {
+			gui.setBusy(true);
+		}
+		CompletableFuture<T> future = CompletableFuture.supplyAsync(query, EXECUTOR);
+		future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+			if (busy) {
+				gui.setBusy(false);
+			}
+			if (error != null) {
+				showError(gui, error);
+			} else if (onDone != null) {
+				onDone.accept(result);
+			}
+		}));
+		return future;
+	}
+
+	/**
+	 * Show the failure of a call.
+	 * <p>
+	 * A RegistrationException is a broken rule and only shows its message, the
+	 * other failures also print their stack trace.
+	 *
+	 * @param gui   it is the main container, an instance of GUI class
+	 * @param error the failure, it may be wrapped by the future
+	 */
+	private static void showError(GUI gui, Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		if (!(cause instanceof RegistrationException)) {
+			cause.printStackTrace();
+		}
+		String message = cause instanceof RegistrationException || cause instanceof DatabaseException
+				? cause.getMessage()
+				: "Database call fail!";
+		System.out.println(message);
+		Toast.show(gui, message, Color.RED);
+	}
+
+	/**
+	 * Run an action in the background and continue on the event dispatch thread.
+	 *
+	 * @param gui    it is the main container, an instance of GUI class
+	 * @param action the database call, it runs on the worker thread
+	 * @param onDone the handler after the call, it runs on the event dispatch
+	 *               thread
+	 * @return the future of the action
+	 */
+	public static CompletableFuture<Void> execute(GUI gui, Runnable action, Runnable onDone) {
+		return query(gui, () -> {
+			action.run();
+			return null;
+		}, result -> {
+			if (onDone != null) {
+				onDone.run();
+			}
+		});
+	}
+}
@@ -3,14 +3,19 @@
  * @author Mengyun Xie
  * Date: Dec 06, 2022
  * Description: Define a GUI class, the main container to contain different pages, it’s a JFrame.
+ * The pages are the cards of a CardLayout. Each kind of page is built once per user and shown again
+ * with new data, so the component tree stays the same size however long the session runs.
  */
 
 package courseregistersystem.main.ui;
 
+import courseregistersystem.main.model.CourseEntry;
 import courseregistersystem.main.model.UserEntry;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.MouseAdapter;
 
 public class GUI extends JFrame {
 
@@ -20,6 +25,9 @@ public class GUI extends JFrame {
 	private CourseJPanel coursePage;
 	private CourseRegisterJPanel courseRegisterPage;
 	private CourseCreateJPanel courseCreatePage;
+	private int busyCount;
+	private final CardLayout cardLayout = new CardLayout();
+	private final NotificationManager notificationManager = new NotificationManager(this);
 
 	/**
 	 * This is the constructor of GUI.
@@ -35,33 +43,85 @@ public class GUI extends JFrame {
 		setResizable(false);
 
 		Container c = getContentPane();
-		c.setLayout(null);
+		c.setLayout(cardLayout);
 
 		// Build the login page
 		loginPage = new LoginJPanel(this);
-		c.add(loginPage);
+		c.add(loginPage, getCardName(loginPage));
 
-		// Build the user register page
-		registerPage = new RegisterJPanel(this);
+		// The user register page is rarely used, it is built on its first visit
+
+		// Build the busy indicator, it covers the pages while a database call runs
+		JPanel busyPane = new JPanel();
+		busyPane.setOpaque(false);
+		busyPane.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+		// Swallow the clicks and keys, so a button can't be clicked twice
+		busyPane.addMouseListener(new MouseAdapter() {
+		});
+		busyPane.addKeyListener(new KeyAdapter() {
+		});
+		setGlassPane(busyPane);
+	}
+
+	/**
+	 * Show or hide the busy indicator.
+	 * <p>
+	 * The calls are counted, the indicator is hidden after the last running
+	 * call is done.
+	 * 
+	 * @param busy true when a database call starts, false when it is done
+	 */
+	public void setBusy(boolean busy) {
+		busyCount = Math.max(0, busyCount + (busy ? 1 : -1));
+		Component busyPane = getGlassPane();
+		busyPane.setVisible(busyCount > 0);
+		if (busyCount > 0) {
+			busyPane.requestFocusInWindow();
+		}
+	}
+
+	/**
+	 * Returns the notificationManager attribute, it shows the toasts.
+	 * 
+	 * @return NotificationManager
+	 */
+	public NotificationManager getNotificationManager() {
+		return notificationManager;
 	}
 
 	/**
 	 * Build the home page.
 	 * 
-	 * @param userId the current user's id
+	 * @param user the current user's entity
 	 */
-	public void initHomeJPanel(long userId) {
-		homePage = new HomeJPanel(this, userId);
+	public void initHomeJPanel(UserEntry user) {
+		if (homePage != null && isSameUser(homePage.getUser(), user)) {
+			// The home page follows the changes, it is always up to date
+			return;
+		}
+		if (homePage != null) {
+			homePage.dispose();
+			removePage(homePage);
+		}
+		homePage = new HomeJPanel(this, user);
 	}
 
 	/**
 	 * Build the course information page.
 	 * 
-	 * @param user     the current user's entity
-	 * @param courseId the current course's id
+	 * @param user   the current user's entity
+	 * @param course the current course's entity
 	 */
-	public void initCourseJPanel(UserEntry user, long courseId) {
-		coursePage = new CourseJPanel(this, user, courseId);
+	public void initCourseJPanel(UserEntry user, CourseEntry course) {
+		if (coursePage != null && isSameUser(coursePage.getUser(), user)) {
+			coursePage.bind(course);
+			return;
+		}
+		if (coursePage != null) {
+			coursePage.dispose();
+			removePage(coursePage);
+		}
+		coursePage = new CourseJPanel(this, user, course);
 	}
 
 	/**
@@ -70,6 +130,14 @@ public class GUI extends JFrame {
 	 * @param user the current user's entity
 	 */
 	public void initCourseRegisterJPanel(UserEntry user) {
+		if (courseRegisterPage != null && isSameUser(courseRegisterPage.getUser(), user)) {
+			// The loaded pages follow the changes, they are always up to date
+			return;
+		}
+		if (courseRegisterPage != null) {
+			courseRegisterPage.dispose();
+			removePage(courseRegisterPage);
+		}
 		courseRegisterPage = new CourseRegisterJPanel(this, user);
 	}
 
@@ -79,6 +147,11 @@ public class GUI extends JFrame {
 	 * @param user the current user's entity
 	 */
 	public void initCourseCreateJPanel(UserEntry user) {
+		if (courseCreatePage != null && isSameUser(courseCreatePage.getUser(), user)) {
+			courseCreatePage.clearForm();
+			return;
+		}
+		removePage(courseCreatePage);
 		courseCreatePage = new CourseCreateJPanel(this, user);
 	}
 
@@ -95,6 +168,9 @@ public class GUI extends JFrame {
 	 * 
 	 */
 	public RegisterJPanel getRegisterJPanel() {
+		if (registerPage == null) {
+			registerPage = new RegisterJPanel(this);
+		}
 		return registerPage;
 	}
 
@@ -139,6 +215,21 @@ public class GUI extends JFrame {
 	 * 
 	 */
 	public void resetJPanels() {
+		// Stop the pages of the previous user from following the changes
+		if (homePage != null) {
+			homePage.dispose();
+		}
+		if (coursePage != null) {
+			coursePage.dispose();
+		}
+		if (courseRegisterPage != null) {
+			courseRegisterPage.dispose();
+		}
+		// Release the components of the previous user
+		removePage(homePage);
+		removePage(coursePage);
+		removePage(courseCreatePage);
+		removePage(courseRegisterPage);
 		homePage = null;
 		coursePage = null;
 		courseCreatePage = null;
@@ -147,12 +238,49 @@ public class GUI extends JFrame {
 
 	/**
 	 * This method implements page hopping.
+	 * <p>
+	 * The new page becomes the visible card, it is added to the card layout the
+	 * first time it is shown.
 	 * 
 	 */
 	public void openNewWindow(JPanel fromPanel, JPanel toPanel, String title) {
 		setTitle(title);
-		fromPanel.setVisible(false);
-		toPanel.setVisible(true);
-		getContentPane().add(toPanel);
+		Container c = getContentPane();
+		if (toPanel.getParent() != c) {
+			c.add(toPanel, getCardName(toPanel));
+		}
+		cardLayout.show(c, getCardName(toPanel));
+	}
+
+	/**
+	 * Remove a page from the card layout, so its components can be collected.
+	 * 
+	 * @param page the page, it may be null
+	 */
+	private void removePage(JPanel page) {
+		if (page != null && page.getParent() == getContentPane()) {
+			getContentPane().remove(page);
+		}
+	}
+
+	/**
+	 * Returns the name of the card of a page, there is one card per kind of page.
+	 * 
+	 * @param page the page
+	 * @return the card name
+	 */
+	private String getCardName(JPanel page) {
+		return page.getClass().getSimpleName();
+	}
+
+	/**
+	 * Check whether a page was built for a user.
+	 * 
+	 * @param pageUser the user of the page
+	 * @param user     the current user's entity
+	 * @return true if both are the same user
+	 */
+	private boolean isSameUser(UserEntry pageUser, UserEntry user) {
+		return pageUser != null && user != null && pageUser.getId() == user.getId();
 	}
 }
@@ -7,26 +7,29 @@
 
 package courseregistersystem.main.ui;
 
-import courseregistersystem.main.database.SqliteDatabase;
-import courseregistersystem.main.model.CourseEntry;
+import courseregistersystem.main.service.ChangeEvent;
+import courseregistersystem.main.service.ChangeEventListener;
+import courseregistersystem.main.service.RegistrationService;
+import courseregistersystem.main.model.MyCourseRow;
+import courseregistersystem.main.model.EnrollmentState;
+import courseregistersystem.main.model.SortKey;
 import courseregistersystem.main.model.UserEntry;
 
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.border.LineBorder;
 
-public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack {
+public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack, ChangeEventListener {
 
 	// Home page
 	private JTextFieldPanelWithLabel usernameTextField;
@@ -40,6 +43,7 @@ public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack
 	private JButton cancelEditButton;
 	private JTablePanelWithOneJButton instructorCourseTableWithOneBtn;
 	private JTablePanelWithTwoJButtons studentCourseTableWithTwoBtn;
+	private CourseTableModel courseTableModel;
 
 	private GUI gui;
 	private UserEntry user;
@@ -47,16 +51,16 @@ public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack
 	/**
 	 * This is the constructor of HomeJPanel.
 	 * 
-	 * @param _gui   it is the main container, an instance of GUI class
-	 * @param userId the current user's id
+	 * @param _gui  it is the main container, an instance of GUI class
+	 * @param _user the current user's entity
 	 */
-	public HomeJPanel(GUI _gui, long userId) {
+	public HomeJPanel(GUI _gui, UserEntry _user) {
 		setLayout(null);
 		setSize(GUIConstants.WINDOW_WIDTH, GUIConstants.WINDOW_HEIGHT);
 
 		// Initiate data
 		gui = _gui;
-		getUserData(userId);
+		user = _user;
 
 		// Build the userInfo panel
 		JPanel userInfoPanel = buildUserInfoPanel();
@@ -65,6 +69,19 @@ public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack
 		// Build the JTable
 		JPanel tablePanel = buildTablePanel();
 		add(tablePanel);
+
+		// Load the course list in the background, then follow the changes
+		updateTable();
+		RegistrationService.instance().getChangeEventBus().subscribe(this, SwingUtilities::invokeLater);
+	}
+
+	/**
+	 * Returns the user attribute.
+	 * 
+	 * @return user
+	 */
+	public UserEntry getUser() {
+		return user;
 	}
 
 	/**
@@ -168,9 +185,12 @@ public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack
 		saveUserButton.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
 				Map<String, String> form = getUserDataForm();
-				SqliteDatabase.instance(gui).updateUser(user.getId(), form);
-				updateUserData(form);
-				switchEditStatus(false);
+				long userId = user.getId();
+				DatabaseWorker.execute(gui, () -> RegistrationService.instance().updateUser(userId, form), () -> {
+					Toast.show(gui, "Update successfully!", Color.GREEN);
+					updateUserData(form);
+					switchEditStatus(false);
+				});
 			}
 		});
 
@@ -206,6 +226,10 @@ public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack
 		tableTitleLabel.setLocation(0, GUIConstants.MARGIN_20);
 		panel.add(tableTitleLabel);
 
+		boolean isInstructor = user != null && user.getRole().equals("Instructor");
+		courseTableModel = new CourseTableModel(gui, user == null ? -1 : user.getId(), isInstructor,
+				getTableColumnNames());
+
 		JLabel tableButtonLabel = new JLabel("", SwingConstants.RIGHT);
 		tableButtonLabel.setFont(new Font("Arial", Font.PLAIN, GUIConstants.FRONTSIZE_S));
 		tableButtonLabel.setSize(GUIConstants.WIDTH_150, GUIConstants.HEIGHT_20);
@@ -230,8 +254,8 @@ public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack
 			});
 			panel.add(addCourseButton);
 
-			instructorCourseTableWithOneBtn = new JTablePanelWithOneJButton(getTableData(), getTableColumnNames(),
-					new String[] { "View" }, this);
+			instructorCourseTableWithOneBtn = new JTablePanelWithOneJButton(courseTableModel, new String[] { "View" },
+					this);
 			instructorCourseTableWithOneBtn.setOpaque(true);
 			instructorCourseTableWithOneBtn.setSize(GUIConstants.WIDTH_700, GUIConstants.HEIGHT_200);
 			instructorCourseTableWithOneBtn.setLocation(0, GUIConstants.MARGIN_50);
@@ -252,7 +276,7 @@ public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack
 			});
 			panel.add(registerCourseButton);
 
-			studentCourseTableWithTwoBtn = new JTablePanelWithTwoJButtons(getTableData(), getTableColumnNames(),
+			studentCourseTableWithTwoBtn = new JTablePanelWithTwoJButtons(courseTableModel,
 					new String[] { "View", "Pending", "Drop" }, this);
 			studentCourseTableWithTwoBtn.setOpaque(true);
 			studentCourseTableWithTwoBtn.setSize(GUIConstants.WIDTH_700, GUIConstants.HEIGHT_200);
@@ -278,17 +302,6 @@ public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack
 		cancelEditButton.setVisible(isEditing);
 	}
 
-	/**
-	 * Get the current user's data.
-	 * 
-	 */
-	private void getUserData(long userId) {
-		// Clear the user
-		user = null;
-		// Initiate the user
-		user = SqliteDatabase.instance(gui).getUser(userId);
-	}
-
 	/**
 	 * Update the data and view of the user information form panel.
 	 * 
@@ -330,43 +343,18 @@ public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack
 		return columnNames;
 	}
 
-	/**
-	 * Get the data for the JTable.
-	 * 
-	 * @return data it is String[][].
-	 */
-	private String[][] getTableData() {
-		List<CourseEntry> courseEntries = new ArrayList<>();
-		if (user != null && user.getRole().equals("Instructor")) {
-			courseEntries = SqliteDatabase.instance(gui).getInstructorCourseList(user.getId());
-		} else {
-			courseEntries = SqliteDatabase.instance(gui).getStudentCourseList(user.getId());
-		}
-
-		String[][] data = null;
-		if (courseEntries != null && courseEntries.size() > 0) {
-			data = new String[courseEntries.size()][getTableColumnNames().length];
-			for (int i = 0; i < courseEntries.size(); i++) {
-				CourseEntry item = courseEntries.get(i);
-				for (int j = 0; j < data[i].length - 1; j++) {
-					data[i][j] = item.getValueByIndex(j).toString();
-				}
-				data[i][data[i].length - 1] = item.getActionState();
-			}
-		}
-		return data;
-	}
-
 	/**
 	 * Update the data for the JTable.
+	 * <p>
+	 * The courses are counted in the background, the pages around the visible
+	 * rows are queried when the JTable shows them.
 	 * 
 	 */
 	public void updateTable() {
-		if (user != null && user.getRole().equals("Instructor")) { // The current user's role is "Instructor".
-			instructorCourseTableWithOneBtn.updateDataVector(getTableData(), getTableColumnNames());
-		} else { // The current user's role is "Student".
-			studentCourseTableWithTwoBtn.updateDataVector(getTableData(), getTableColumnNames());
+		if (user == null) {
+			return;
 		}
+		courseTableModel.reload();
 	}
 
 	/**
@@ -376,12 +364,76 @@ public class HomeJPanel extends JPanel implements JTablePanelWithJButtonCallBack
 	@Override
 	public void initCallBack(long rowId, String label) {
 		if (label == "View") {
-			gui.initCourseJPanel(this.user, rowId);
-			gui.openNewWindow(gui.getHomeJPanel(), gui.getCourseJPanel(), "Course Info");
+			DatabaseWorker.query(gui, () -> RegistrationService.instance().getCourse(rowId), course -> {
+				if (user != null) {
+					gui.initCourseJPanel(user, course);
+					gui.openNewWindow(gui.getHomeJPanel(), gui.getCourseJPanel(), "Course Info");
+				}
+			});
 		} else if (label == "Drop") {
-			SqliteDatabase.instance(gui).dropCourse(user.getId(), rowId);
-			studentCourseTableWithTwoBtn.updateDataVector(getTableData(), getTableColumnNames());
+			long userId = user.getId();
+			DatabaseWorker.execute(gui, () -> RegistrationService.instance().dropCourse(userId, rowId), () -> {
+				Toast.show(gui, "DropCourse successfully!", Color.GREEN);
+			});
 		}
 	}
 
+	/**
+	 * Apply a change of the registration to the course list.
+	 * <p>
+	 * A changed row is updated in place, a course which joins or leaves the
+	 * list makes the list count its courses again.
+	 * 
+	 */
+	@Override
+	public void onChange(ChangeEvent event) {
+		if (user == null) {
+			return;
+		}
+		long userId = user.getId();
+		MyCourseRow entry = courseTableModel.getEntryById(event.getCourseId());
+		switch (event.getType()) {
+		case COURSE_CREATED:
+			if (event.getCourse().getInstructorId() == userId) {
+				courseTableModel.reload();
+			}
+			break;
+		case COURSE_UPDATED:
+			if (entry != null) {
+				courseTableModel.putEntry(entry.withCourse(event.getCourse()));
+			}
+			break;
+		case COURSE_REQUESTED:
+			if (event.involvesStudent(userId)) {
+				courseTableModel.reload();
+			}
+			break;
+		case REQUEST_APPROVED:
+			if (!event.involvesStudent(userId)) {
+				break;
+			}
+			if (courseTableModel.getSortKey() == SortKey.REQUEST_TIME) {
+				// The approval rewrote the request time, so the course moved in the order
+				courseTableModel.reload();
+			} else if (entry != null) {
+				courseTableModel
+						.putEntry(entry.withActionState(EnrollmentState.toActionState(EnrollmentState.ENROLLED)));
+			}
+			break;
+		case REQUEST_DECLINED:
+		case COURSE_DROPPED:
+			if (event.involvesStudent(userId)) {
+				courseTableModel.reload();
+			}
+			break;
+		}
+	}
+
+	/**
+	 * Stop receiving the ChangeEvents, it is called when this page is replaced.
+	 * 
+	 */
+	public void dispose() {
+		RegistrationService.instance().getChangeEventBus().unsubscribe(this);
+	}
 }
@@ -22,47 +22,41 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.SwingConstants;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
 
 public class JTablePanelWithOneJButton extends JPanel {
-	private Object[][] data;
-	private Object[] columnNames;
 	private JTablePanelWithJButtonCallBack callBack;
-	private OneButtonModel tableModel;
 	private JTable table;
 	private String[] buttonLabelArray;
 
 	/**
 	 * This is the constructor of JTablePanelWithOneJButton.
-	 * 
-	 * @param _data             it is the data of the JTable
-	 * @param _columnNames      it is the column name of the JTable
+	 * <p>
+	 * The model owns the rows and loads them in pages, for example a
+	 * CourseTableModel or a RosterTableModel. Clicking a header sorts the rows.
+	 *
+	 * @param _model            it is the table model of the JTable, its last column
+	 *                          is "Action"
 	 * @param _buttonLabelArray it is the various action of the button in the JTable
 	 * @param _callBack         it is the callback after clicking the button
 	 */
-	public JTablePanelWithOneJButton(Object[][] _data, Object[] _columnNames, String[] _buttonLabelArray,
+	public JTablePanelWithOneJButton(PagedTableModel<?> _model, String[] _buttonLabelArray,
 			JTablePanelWithJButtonCallBack _callBack) {
 		super(new GridLayout(1, 0));
 
 		// Initiate data
-		data = _data;
-		columnNames = _columnNames;
 		callBack = _callBack;
 		buttonLabelArray = _buttonLabelArray;
 
-		// Create a custom table model for the JTable
-		tableModel = new OneButtonModel(columnNames.length);
-		tableModel.setDataVector(data, columnNames);
-
 		// Build the JTable
-		table = new JTable(tableModel);
+		table = new JTable(_model);
 		table.getColumn("Action").setCellRenderer(new OneButtonRenderer(buttonLabelArray));
 		table.getColumn("Action").setCellEditor(new OneButtonEditor(buttonLabelArray, callBack));
 		table.setFillsViewportHeight(true);
 		table.setSelectionBackground(Color.WHITE);
 		table.setSelectionForeground(Color.BLACK);
+		TableHeaderSorter.install(table, _model);
 
 		// Set the reasonable width of each column of the JTable
 		initColumnSizes(table);
@@ -102,27 +96,6 @@ public class JTablePanelWithOneJButton extends JPanel {
 		}
 	}
 
-	/**
-	 * Create a table model for the JTable with one button
-	 * 
-	 * @return OneButtonModel
-	 */
-	class OneButtonModel extends DefaultTableModel {
-		private int colCount;
-
-		public OneButtonModel(int _colCount) {
-			colCount = _colCount;
-		}
-
-		public boolean isCellEditable(int row, int column) {
-			int lastColIndex = colCount - 1;
-			if (column == lastColIndex) {
-				return true;
-			}
-			return false;
-		}
-	}
-
 	/**
 	 * Create a table cell renderer for the JTable with one button
 	 * <p>
@@ -158,6 +131,10 @@ public class JTablePanelWithOneJButton extends JPanel {
 					&& buttonLabelArray[2] == "Enrolled") {
 				oneButtonPanel.getButton().setText(buttonLabelArray[2]);
 				oneButtonPanel.getButton().setEnabled(false);
+			} else {
+				// The row is still loading
+				oneButtonPanel.getButton().setText("");
+				oneButtonPanel.getButton().setEnabled(false);
 			}
 			return this.oneButtonPanel;
 		}
@@ -246,13 +223,4 @@ public class JTablePanelWithOneJButton extends JPanel {
 			currentColumn.setPreferredWidth(currentHeaderWidth);
 		}
 	}
-
-	/**
-	 * This method update the data and view of the JTable.
-	 */
-	public void updateDataVector(Object[][] _data, Object[] _columnNames) {
-		tableModel.setDataVector(_data, _columnNames);
-		table.getColumn("Action").setCellRenderer(new OneButtonRenderer(buttonLabelArray));
-		table.getColumn("Action").setCellEditor(new OneButtonEditor(buttonLabelArray, callBack));
-	}
 }
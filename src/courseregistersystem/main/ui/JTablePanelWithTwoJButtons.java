@@ -22,47 +22,41 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.SwingConstants;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
 
 public class JTablePanelWithTwoJButtons extends JPanel {
-	private Object[][] data;
-	private Object[] columnNames;
 	private JTablePanelWithJButtonCallBack callBack;
-	private MultiButtonModel tableModel;
 	private JTable table;
 	private String[] buttonLabelArray;
 
 	/**
 	 * This is the constructor of JTablePanelWithTwoJButtons.
-	 * 
-	 * @param _data             it is the data of the JTable
-	 * @param _columnNames      it is the column name of the JTable
+	 * <p>
+	 * The model owns the rows and loads them in pages, for example a
+	 * CourseTableModel or a RosterTableModel. Clicking a header sorts the rows.
+	 *
+	 * @param _model            it is the table model of the JTable, its last column
+	 *                          is "Action"
 	 * @param _buttonLabelArray it is the various action of the button in the JTable
 	 * @param _callBack         it is the callback after clicking the button
 	 */
-	public JTablePanelWithTwoJButtons(Object[][] _data, Object[] _columnNames, String[] _buttonLabelArray,
+	public JTablePanelWithTwoJButtons(PagedTableModel<?> _model, String[] _buttonLabelArray,
 			JTablePanelWithJButtonCallBack _callBack) {
 		super(new GridLayout(1, 0));
 
 		// Initiate data
-		data = _data;
-		columnNames = _columnNames;
 		callBack = _callBack;
 		buttonLabelArray = _buttonLabelArray;
 
-		// Create a custom table model for the JTable
-		tableModel = new MultiButtonModel(columnNames.length);
-		tableModel.setDataVector(data, columnNames);
-
 		// Build the JTable
-		table = new JTable(tableModel);
+		table = new JTable(_model);
 		table.getColumn("Action").setCellRenderer(new MultiButtonRenderer(buttonLabelArray));
 		table.getColumn("Action").setCellEditor(new MultiButtonEditor(buttonLabelArray, callBack));
 		table.setFillsViewportHeight(true);
 		table.setSelectionBackground(Color.WHITE);
 		table.setSelectionForeground(Color.BLACK);
+		TableHeaderSorter.install(table, _model);
 
 		// Set the reasonable width of each column of the JTable
 		initColumnSizes(table);
@@ -120,27 +114,6 @@ public class JTablePanelWithTwoJButtons extends JPanel {
 
 	}
 
-	/**
-	 * Create a table model for the JTable with two buttons
-	 * 
-	 * @return MultiButtonModel
-	 */
-	class MultiButtonModel extends DefaultTableModel {
-		private int colCount;
-
-		public MultiButtonModel(int _colCount) {
-			colCount = _colCount;
-		}
-
-		public boolean isCellEditable(int row, int column) {
-			int lastColIndex = colCount - 1;
-			if (column == lastColIndex) {
-				return true;
-			}
-			return false;
-		}
-	}
-
 	/**
 	 * Create a table cell renderer for the JTable with two buttons
 	 * <p>
@@ -163,10 +136,12 @@ public class JTablePanelWithTwoJButtons extends JPanel {
 			// Issue the content of the button
 			if (value.toString().equals("1") && buttonLabelArray[1] == "Pending") {
 				multiButtonsPanel.getLeftButton().setText(buttonLabelArray[1]);
+				multiButtonsPanel.getRightButton().setText(buttonLabelArray[0]);
 				multiButtonsPanel.getLeftButton().setEnabled(false);
 				multiButtonsPanel.getRightButton().setEnabled(true);
 			} else if (value.toString().equals("2") && buttonLabelArray[2] == "Drop") {
 				multiButtonsPanel.getLeftButton().setText(buttonLabelArray[2]);
+				multiButtonsPanel.getRightButton().setText(buttonLabelArray[0]);
 				multiButtonsPanel.getLeftButton().setEnabled(true);
 				multiButtonsPanel.getRightButton().setEnabled(true);
 			} else if (value.toString().equals("1") && buttonLabelArray[1] == "Approve/Decline") {
@@ -179,6 +154,12 @@ public class JTablePanelWithTwoJButtons extends JPanel {
 				multiButtonsPanel.getRightButton().setText("");
 				multiButtonsPanel.getLeftButton().setEnabled(false);
 				multiButtonsPanel.getRightButton().setEnabled(false);
+			} else {
+				// The row is still loading
+				multiButtonsPanel.getLeftButton().setText("");
+				multiButtonsPanel.getRightButton().setText("");
+				multiButtonsPanel.getLeftButton().setEnabled(false);
+				multiButtonsPanel.getRightButton().setEnabled(false);
 			}
 			return this.multiButtonsPanel;
 		}
@@ -228,10 +209,12 @@ public class JTablePanelWithTwoJButtons extends JPanel {
 			// Issue the content of the button
 			if (value.toString().equals("1") && buttonLabelArray[1] == "Pending") {
 				multiButtonsPanel.getLeftButton().setText(buttonLabelArray[1]);
+				multiButtonsPanel.getRightButton().setText(buttonLabelArray[0]);
 				multiButtonsPanel.getLeftButton().setEnabled(false);
 				multiButtonsPanel.getRightButton().setEnabled(true);
 			} else if (value.toString().equals("2") && buttonLabelArray[2] == "Drop") {
 				multiButtonsPanel.getLeftButton().setText(buttonLabelArray[2]);
+				multiButtonsPanel.getRightButton().setText(buttonLabelArray[0]);
 				multiButtonsPanel.getLeftButton().setEnabled(true);
 				multiButtonsPanel.getRightButton().setEnabled(true);
 			} else if (value.toString().equals("1") && buttonLabelArray[1] == "Approve/Decline") {
@@ -284,13 +267,4 @@ public class JTablePanelWithTwoJButtons extends JPanel {
 			}
 		}
 	}
-
-	/**
-	 * This method update the data and view of the JTable.
-	 */
-	public void updateDataVector(Object[][] _data, Object[] _columnNames) {
-		tableModel.setDataVector(_data, _columnNames);
-		table.getColumn("Action").setCellRenderer(new MultiButtonRenderer(buttonLabelArray));
-		table.getColumn("Action").setCellEditor(new MultiButtonEditor(buttonLabelArray, callBack));
-	}
 }
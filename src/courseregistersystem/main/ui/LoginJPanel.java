@@ -7,7 +7,7 @@
 
 package courseregistersystem.main.ui;
 
-import courseregistersystem.main.database.SqliteDatabase;
+import courseregistersystem.main.service.RegistrationService;
 
 import java.awt.Color;
 import java.awt.Font;
@@ -81,12 +81,13 @@ public class LoginJPanel extends JPanel {
 		loginButton.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
 				if (isValidForm()) {
-					long userId = SqliteDatabase.instance(gui).userLogin(getForm());
-					if (userId != -1) {
+					Map<String, String> form = getForm();
+					// Query the user in the background, then build the home page
+					DatabaseWorker.query(gui, () -> RegistrationService.instance().login(form), user -> {
 						clearForm();
-						gui.initHomeJPanel(userId);
+						gui.initHomeJPanel(user);
 						gui.openNewWindow(gui.getLoginJPanel(), gui.getHomeJPanel(), "Home");
-					}
+					});
 				} else {
 					Toast.show(gui, "Form is not valid!", Color.RED);
 				}
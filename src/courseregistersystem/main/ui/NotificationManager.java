@@ -0,0 +1,165 @@
+/**
+ * File: NotificationManager.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a NotificationManager class, it shows the messages of the pages one after another
+ * in a single reusable Toast window. Repeated messages are merged into one with a count, so a batch of
+ * calls never opens a storm of windows. A full queue drops the oldest information, never an error.
+ */
+
+package courseregistersystem.main.ui;
+
+import java.awt.Color;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+public class NotificationManager {
+
+	public static final int DISPLAY_MILLIS = 2000;
+	// The oldest waiting information is dropped when the queue is full
+	public static final int MAX_QUEUED = 8;
+	// The pages show their errors in red
+	public static final Color ERROR_COLOR = Color.RED;
+
+	private final GUI gui;
+	private final ArrayDeque<Notification> queue = new ArrayDeque<>();
+	private final Timer timer;
+	private Toast toast;
+	private Notification current;
+
+	/**
+	 * This is the constructor of NotificationManager.
+	 *
+	 * @param _gui it is the main container, an instance of GUI class
+	 */
+	public NotificationManager(GUI _gui) {
+		gui = _gui;
+		timer = new Timer(DISPLAY_MILLIS, e -> showNext());
+		timer.setRepeats(false);
+	}
+
+	/**
+	 * Show a message.
+	 * <p>
+	 * It can be called from any thread, the queue is only touched on the event
+	 * dispatch thread. A message equal to the shown or a waiting one increases
+	 * its count instead of waiting for its own turn.
+	 *
+	 * @param message the contents of the label in the toast
+	 * @param color   the color of the label in the toast
+	 */
+	public void post(String message, Color color) {
+		if (!SwingUtilities.isEventDispatchThread()) {
+			SwingUtilities.invokeLater(() -> post(message, color));
+			return;
+		}
+		if (current != null && current.matches(message, color)) {
+			// Keep the shown message a little longer
+			current.count++;
+			toast.setMessage(current.getText(), current.color);
+			timer.restart();
+			return;
+		}
+		for (Notification waiting : queue) {
+			if (waiting.matches(message, color)) {
+				waiting.count++;
+				return;
+			}
+		}
+		if (queue.size() >= MAX_QUEUED) {
+			dropOldestInformation();
+		}
+		queue.addLast(new Notification(message, color));
+		if (current == null) {
+			showNext();
+		}
+	}
+
+	/**
+	 * Show the next waiting message, or hide the toast when there is none.
+	 *
+	 */
+	private void showNext() {
+		current = queue.pollFirst();
+		if (current == null) {
+			if (toast != null) {
+				toast.setVisible(false);
+			}
+			return;
+		}
+		if (toast == null) {
+			toast = new Toast(gui);
+		}
+		toast.setMessage(current.getText(), current.color);
+		toast.setLocationRelativeTo(gui);
+		toast.setVisible(true);
+		timer.restart();
+	}
+
+	/**
+	 * Drop the oldest waiting message which is not an error.
+	 * <p>
+	 * When only errors are waiting nothing is dropped, the queue grows past
+	 * MAX_QUEUED instead.
+	 *
+	 */
+	private void dropOldestInformation() {
+		Iterator<Notification> iterator = queue.iterator();
+		while (iterator.hasNext()) {
+			if (!iterator.next().isError()) {
+				iterator.remove();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Hide the toast and release its window.
+	 * <p>
+	 * It is called when the window is closed, the waiting messages are
+	 * dropped.
+	 *
+	 */
+	public void dispose() {
+		if (!SwingUtilities.isEventDispatchThread()) {
+			SwingUtilities.invokeLater(this::dispose);
+			return;
+		}
+		timer.stop();
+		queue.clear();
+		current = null;
+		if (toast != null) {
+			toast.dispose();
+			toast = null;
+		}
+	}
+
+	/**
+	 * A message with the number of times it was posted.
+	 */
+	private static class Notification {
+		private final String message;
+		private final Color color;
+		private int count = 1;
+
+		Notification(String _message, Color _color) {
+			message = _message;
+			color = _color;
+		}
+
+		boolean matches(String _message, Color _color) {
+			return message.equals(_message) && color.equals(_color);
+		}
+
+		boolean isError() {
+			return ERROR_COLOR.equals(color);
+		}
+
+		String getText() {
+			return count == 1 ? message : message + " (x" + count + ")";
+		}
+	}
+}
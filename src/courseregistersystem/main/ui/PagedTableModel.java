@@ -0,0 +1,354 @@
+/**
+ * File: PagedTableModel.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a PagedTableModel class, a table model of a sorted list which only holds the pages around
+ * the visible rows. A missing page is fetched in the background with keyset pagination in the order of the sort
+ * key and the least recently used pages are dropped, so the memory stays flat however long the list is.
+ */
+
+package courseregistersystem.main.ui;
+
+import courseregistersystem.main.model.PageCursor;
+import courseregistersystem.main.model.SortKey;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+public abstract class PagedTableModel<T> extends AbstractTableModel {
+
+	public static final int PAGE_SIZE = 100;
+	// Rows this close to the edge of a page also fetch the neighbouring page
+	private static final int PREFETCH_ROWS = 30;
+	private static final int MAX_PAGES = 20;
+
+	private final GUI gui;
+	private final String[] columnNames;
+	private final LinkedHashMap<Integer, List<T>> pages;
+	// The cursor after the last row of each page, the start of the next page
+	private final Map<Integer, PageCursor> cursors = new HashMap<>();
+	private final Set<Integer> loadingPages = new HashSet<>();
+	private SortKey sortKey = SortKey.ID;
+	private boolean descending;
+	private int rowCount;
+	private int generation;
+
+	/**
+	 * This is the constructor of PagedTableModel.
+	 * <p>
+	 * The rows are sorted by their id until another column is chosen.
+	 *
+	 * @param _gui         it is the main container, an instance of GUI class
+	 * @param _columnNames the column names, the last one is "Action"
+	 */
+	protected PagedTableModel(GUI _gui, String[] _columnNames) {
+		gui = _gui;
+		columnNames = _columnNames;
+		// An access ordered map, the eldest page is the least recently shown one
+		pages = new LinkedHashMap<Integer, List<T>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+				return size() > MAX_PAGES;
+			}
+		};
+	}
+
+	/**
+	 * Returns the query which counts the rows.
+	 * <p>
+	 * It is built on the event dispatch thread and runs on the database worker
+	 * thread, so it must copy the state of the model it needs.
+	 *
+	 * @return the query of the number of rows
+	 */
+	protected abstract Supplier<Integer> countRows();
+
+	/**
+	 * Returns the query of a sorted page.
+	 * <p>
+	 * It is built on the event dispatch thread and runs on the database worker
+	 * thread, so it must copy the state of the model it needs.
+	 *
+	 * @param _sortKey    the sort key
+	 * @param _descending whether the order is descending
+	 * @param after       the cursor of the previous page, null if it is unknown
+	 * @param offset      the position of the first row of the page
+	 * @param limit       the maximum number of rows
+	 * @return the query of the rows of the page
+	 */
+	protected abstract Supplier<List<T>> loadPage(SortKey _sortKey, boolean _descending, PageCursor after,
+			int offset, int limit);
+
+	/**
+	 * Returns the id of a row.
+	 *
+	 * @param entry the row
+	 * @return id
+	 */
+	protected abstract long getId(T entry);
+
+	/**
+	 * Returns the value of a cell, the last column is handled by this class.
+	 *
+	 * @param entry  the row
+	 * @param column the index of the column
+	 * @return the value
+	 */
+	protected abstract Object getValue(T entry, int column);
+
+	/**
+	 * Returns the actionState of a row, it is the value of the last column.
+	 *
+	 * @param entry the row
+	 * @return actionState
+	 */
+	protected abstract String getActionState(T entry);
+
+	/**
+	 * Returns the value of a row for the current sort key.
+	 *
+	 * @param entry    the row
+	 * @param _sortKey the sort key
+	 * @return the value, null when the list is sorted by the id
+	 */
+	protected abstract Object getSortValue(T entry, SortKey _sortKey);
+
+	/**
+	 * Returns the sort key of a column.
+	 *
+	 * @param column the index of the column
+	 * @return the sort key, null if the column can not be sorted
+	 */
+	public abstract SortKey getSortKey(int column);
+
+	/**
+	 * Drop every loaded page and count the rows again.
+	 * <p>
+	 * The pages and their cursors are dropped at once, a page painted before
+	 * the count is back is fetched in the current order. The visible pages are
+	 * fetched again when the table paints them.
+	 */
+	public void reload() {
+		int reloadGeneration = ++generation;
+		pages.clear();
+		cursors.clear();
+		loadingPages.clear();
+		DatabaseWorker.fetch(gui, countRows(), count -> {
+			if (reloadGeneration != generation) {
+				return;
+			}
+			rowCount = count;
+			fireTableDataChanged();
+		});
+	}
+
+	/**
+	 * Drop every row at once, the pending pages are ignored.
+	 */
+	public void clear() {
+		generation++;
+		pages.clear();
+		cursors.clear();
+		loadingPages.clear();
+		rowCount = 0;
+		fireTableDataChanged();
+	}
+
+	/**
+	 * Sort the rows by a column and load them again from the database.
+	 * <p>
+	 * Choosing the sorted column again reverses the order.
+	 *
+	 * @param column the index of the column
+	 * @return true if the column can be sorted
+	 */
+	public boolean sortByColumn(int column) {
+		SortKey key = getSortKey(column);
+		if (key == null) {
+			return false;
+		}
+		descending = key == sortKey && !descending;
+		sortKey = key;
+		reload();
+		return true;
+	}
+
+	/**
+	 * Returns the sortKey attribute.
+	 *
+	 * @return sortKey
+	 */
+	public SortKey getSortKey() {
+		return sortKey;
+	}
+
+	/**
+	 * Returns the descending attribute.
+	 *
+	 * @return descending
+	 */
+	public boolean isDescending() {
+		return descending;
+	}
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnNames.length;
+	}
+
+	@Override
+	public String getColumnName(int column) {
+		return columnNames[column];
+	}
+
+	@Override
+	public boolean isCellEditable(int row, int column) {
+		return column == columnNames.length - 1 && getEntry(row) != null;
+	}
+
+	@Override
+	public Object getValueAt(int row, int column) {
+		T entry = getEntry(row);
+		if (entry == null) {
+			// The page is still loading
+			return column == 0 ? "..." : "";
+		}
+		if (column == columnNames.length - 1) {
+			return getActionState(entry);
+		}
+		return getValue(entry, column);
+	}
+
+	/**
+	 * Returns the entity of a row, fetching its page when it is missing.
+	 *
+	 * @param row the index of the row
+	 * @return the entity, or null while its page is loading
+	 */
+	public T getEntry(int row) {
+		int page = row / PAGE_SIZE;
+		int offset = row % PAGE_SIZE;
+		if (offset >= PAGE_SIZE - PREFETCH_ROWS) {
+			requestPage(page + 1);
+		} else if (offset < PREFETCH_ROWS && page > 0) {
+			requestPage(page - 1);
+		}
+		List<T> entries = pages.get(page);
+		if (entries == null) {
+			requestPage(page);
+			return null;
+		}
+		return offset < entries.size() ? entries.get(offset) : null;
+	}
+
+	/**
+	 * Replace a loaded entity and repaint only its row.
+	 * <p>
+	 * An entity whose page is not loaded is ignored, it is fetched fresh when it
+	 * is shown. An entity whose sort value changed moved in the order, so the
+	 * rows are loaded again instead, the cursors of the pages are stale.
+	 *
+	 * @param entry the entity
+	 * @return true if the entity was loaded
+	 */
+	public boolean putEntry(T entry) {
+		for (Map.Entry<Integer, List<T>> page : pages.entrySet()) {
+			List<T> entries = page.getValue();
+			for (int i = 0; i < entries.size(); i++) {
+				if (getId(entries.get(i)) == getId(entry)) {
+					if (!Objects.equals(getSortValue(entries.get(i), sortKey), getSortValue(entry, sortKey))) {
+						reload();
+						return true;
+					}
+					entries.set(i, entry);
+					int row = page.getKey() * PAGE_SIZE + i;
+					fireTableRowsUpdated(row, row);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a loaded entity by its id.
+	 *
+	 * @param id the id of the entity
+	 * @return the entity, or null if its page is not loaded
+	 */
+	public T getEntryById(long id) {
+		for (List<T> entries : pages.values()) {
+			for (T entry : entries) {
+				if (getId(entry) == id) {
+					return entry;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Fetch a page in the background if it is neither loaded nor loading.
+	 * <p>
+	 * The page starts after the cursor of the previous page when it is still
+	 * known, otherwise after the rows before it. A page which failed to load is
+	 * requested again the next time it is shown.
+	 *
+	 * @param page the index of the page
+	 */
+	private void requestPage(int page) {
+		if (page < 0 || page * PAGE_SIZE >= rowCount || pages.containsKey(page) || !loadingPages.add(page)) {
+			return;
+		}
+		int requestGeneration = generation;
+		SortKey requestSortKey = sortKey;
+		boolean requestDescending = descending;
+		PageCursor after = page == 0 ? null : cursors.get(page - 1);
+		DatabaseWorker.fetch(gui, loadPage(requestSortKey, requestDescending, after, page * PAGE_SIZE, PAGE_SIZE),
+				entries -> {
+					if (requestGeneration != generation) {
+						return;
+					}
+					TableRefreshEvent event = new TableRefreshEvent(getClass().getSimpleName(), entries.size());
+					event.begin();
+					loadingPages.remove(page);
+					pages.put(page, new ArrayList<>(entries));
+					if (!entries.isEmpty()) {
+						T last = entries.get(entries.size() - 1);
+						cursors.put(page, new PageCursor(getSortValue(last, requestSortKey), getId(last)));
+					}
+					int firstRow = page * PAGE_SIZE;
+					int lastRow = Math.min(rowCount, firstRow + PAGE_SIZE) - 1;
+					if (firstRow <= lastRow) {
+						fireTableRowsUpdated(firstRow, lastRow);
+					}
+					event.commit();
+				}).whenComplete((entries, error) -> {
+					if (error != null) {
+						// The worker shows the failure, the page is requested again when it is shown
+						SwingUtilities.invokeLater(() -> {
+							if (requestGeneration == generation) {
+								loadingPages.remove(page);
+							}
+						});
+					}
+				});
+	}
+}
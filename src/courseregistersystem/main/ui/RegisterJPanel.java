@@ -7,7 +7,7 @@
 
 package courseregistersystem.main.ui;
 
-import courseregistersystem.main.database.SqliteDatabase;
+import courseregistersystem.main.service.RegistrationService;
 
 import java.awt.Color;
 import java.awt.Font;
@@ -105,12 +105,13 @@ public class RegisterJPanel extends JPanel {
 		registerButton.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
 				if (isValidForm()) {
-					long userId = SqliteDatabase.instance(gui).createUser(getForm());
-					if (userId != -1) {
+					Map<String, String> form = getForm();
+					// Query the user in the background, then build the home page
+					DatabaseWorker.query(gui, () -> RegistrationService.instance().register(form), user -> {
 						clearForm();
-						gui.initHomeJPanel(userId);
+						gui.initHomeJPanel(user);
 						gui.openNewWindow(gui.getRegisterJPanel(), gui.getHomeJPanel(), "Home");
-					}
+					});
 				} else {
 					Toast.show(gui, "Form is not valid!", Color.RED);
 				}
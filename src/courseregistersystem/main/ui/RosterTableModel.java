@@ -0,0 +1,95 @@
+/**
+ * File: RosterTableModel.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a RosterTableModel class, a paged table model of the students who belong to a course.
+ * It is used by the course page of an instructor.
+ */
+
+package courseregistersystem.main.ui;
+
+import courseregistersystem.main.model.PageCursor;
+import courseregistersystem.main.model.RosterRow;
+import courseregistersystem.main.model.SortKey;
+import courseregistersystem.main.service.RegistrationService;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public class RosterTableModel extends PagedTableModel<RosterRow> {
+
+	private long courseId;
+
+	/**
+	 * This is the constructor of RosterTableModel.
+	 *
+	 * @param _gui         it is the main container, an instance of GUI class
+	 * @param _courseId    the current course's id
+	 * @param _columnNames the column names, "ID", "Name", "Email" and "Action"
+	 */
+	public RosterTableModel(GUI _gui, long _courseId, String[] _columnNames) {
+		super(_gui, _columnNames);
+		courseId = _courseId;
+	}
+
+	/**
+	 * Show the students of another course.
+	 *
+	 * @param _courseId the course's id
+	 */
+	public void setCourseId(long _courseId) {
+		courseId = _courseId;
+		clear();
+		reload();
+	}
+
+	@Override
+	protected Supplier<Integer> countRows() {
+		// A copy, the course may change before the worker runs the query
+		long queriedCourseId = courseId;
+		return () -> RegistrationService.instance().getUserCountByCourseId(queriedCourseId);
+	}
+
+	@Override
+	protected Supplier<List<RosterRow>> loadPage(SortKey _sortKey, boolean _descending, PageCursor after,
+			int offset, int limit) {
+		long queriedCourseId = courseId;
+		return () -> RegistrationService.instance().getUserListByCourseId(queriedCourseId, _sortKey, _descending,
+				after, offset, limit);
+	}
+
+	@Override
+	protected long getId(RosterRow entry) {
+		return entry.getId();
+	}
+
+	@Override
+	protected Object getValue(RosterRow entry, int column) {
+		return entry.getValueByIndex(column);
+	}
+
+	@Override
+	protected String getActionState(RosterRow entry) {
+		return entry.getActionState();
+	}
+
+	@Override
+	protected Object getSortValue(RosterRow entry, SortKey _sortKey) {
+		return entry.getSortValue(_sortKey);
+	}
+
+	@Override
+	public SortKey getSortKey(int column) {
+		switch (column) {
+		case 0:
+			return SortKey.ID;
+		case 1:
+			return SortKey.NAME;
+		case 3:
+			// The action of a student follows his or her request
+			return SortKey.REQUEST_TIME;
+		default:
+			return null;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * File: TableHeaderSorter.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a TableHeaderSorter class, it sorts a paged table by the column whose header is clicked.
+ * The rows are not sorted by the JTable, the model requests the sorted pages from the database.
+ */
+
+package courseregistersystem.main.ui;
+
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+import javax.swing.JTable;
+import javax.swing.table.TableColumn;
+
+public class TableHeaderSorter extends MouseAdapter {
+
+	private static final String ASCENDING = " \u25B2";
+	private static final String DESCENDING = " \u25BC";
+
+	private final JTable table;
+	private final PagedTableModel<?> model;
+
+	/**
+	 * This is the constructor of TableHeaderSorter.
+	 *
+	 * @param _table the JTable
+	 * @param _model the model of the JTable
+	 */
+	private TableHeaderSorter(JTable _table, PagedTableModel<?> _model) {
+		table = _table;
+		model = _model;
+	}
+
+	/**
+	 * Sort the table by the clicked headers and mark the sorted column.
+	 *
+	 * @param table the JTable
+	 * @param model the model of the JTable
+	 */
+	public static void install(JTable table, PagedTableModel<?> model) {
+		TableHeaderSorter sorter = new TableHeaderSorter(table, model);
+		table.getTableHeader().addMouseListener(sorter);
+		sorter.updateHeaders();
+	}
+
+	@Override
+	public void mouseClicked(MouseEvent e) {
+		int viewColumn = table.getTableHeader().columnAtPoint(e.getPoint());
+		if (viewColumn < 0) {
+			return;
+		}
+		if (model.sortByColumn(table.convertColumnIndexToModel(viewColumn))) {
+			updateHeaders();
+		}
+	}
+
+	/**
+	 * Show the order next to the name of the sorted column.
+	 */
+	private void updateHeaders() {
+		for (int i = 0; i < table.getColumnCount(); i++) {
+			TableColumn column = table.getColumnModel().getColumn(i);
+			int modelColumn = column.getModelIndex();
+			String name = model.getColumnName(modelColumn);
+			if (model.getSortKey(modelColumn) == model.getSortKey()) {
+				name += model.isDescending() ? DESCENDING : ASCENDING;
+			}
+			column.setHeaderValue(name);
+		}
+		table.getTableHeader().repaint();
+	}
+}
@@ -0,0 +1,42 @@
+/**
+ * File: TableRefreshEvent.java
+ * @author Mengyun Xie
+ * Date: Oct 18, 2026
+ * Description: Define a TableRefreshEvent class, a JFR event emitted when a table model replaces its rows.
+ * Its duration is the time the event dispatch thread spends on the refresh.
+ */
+
+package courseregistersystem.main.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("courseregistersystem.TableRefresh")
+@Label("Table Refresh")
+@Category({ "Course Registration", "Swing" })
+@Description("A table model replaces its rows")
+@StackTrace(false)
+public class TableRefreshEvent extends Event {
+
+	@Label("Table")
+	@Description("The class of the table model")
+	String table;
+
+	@Label("Rows")
+	int rows;
+
+	/**
+	 * This is the constructor of TableRefreshEvent.
+	 *
+	 * @param _table the class of the table model
+	 * @param _rows  the number of new rows
+	 */
+	TableRefreshEvent(String _table, int _rows) {
+		table = _table;
+		rows = _rows;
+	}
+}
@@ -10,8 +10,6 @@ package courseregistersystem.main.ui;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.GridBagLayout;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.geom.RoundRectangle2D;
@@ -19,50 +17,49 @@ import java.awt.geom.RoundRectangle2D;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
-import javax.swing.Timer;
 
 public class Toast extends JDialog {
 
-	private static int milliseconds = 2000;
 	private JFrame gui;
-	private String message;
-	private Color color = Color.WHITE;
+	private JLabel messageLabel;
 
 	/**
 	 * This is the constructor of Toast.
+	 * <p>
+	 * The window is built once and reused by the NotificationManager for every
+	 * message.
 	 * 
-	 * @param _gui   it is the main container, an instance of GUI class
-	 * @param _message The contents of the label in the toast
-	 * @param _color the color of the label in the toast
+	 * @param _gui it is the main container, an instance of GUI class
 	 */
-	private Toast(GUI _gui, String _message, Color _color) {
+	Toast(GUI _gui) {
 		gui = _gui;
-		message = _message;
-		color = _color;
 		buildComponent();
 	}
 
 	/**
 	 * This is the method to show a toast.
+	 * <p>
+	 * It can be called from any thread. The message waits in the queue of the
+	 * NotificationManager of the window, an equal waiting message is merged
+	 * with it.
 	 * 
 	 * @param _gui     it is the main container, an instance of GUI class
 	 * @param _message The contents of the label in the toast
 	 * @param _color   the color of the label in the toast
 	 */
 	public static void show(GUI _gui, String _message, Color _color) {
-		JDialog dialog = new Toast(_gui, _message, _color);
+		_gui.getNotificationManager().post(_message, _color);
+	}
 
-		// Create a timer and turn off the toast after a few milliseconds
-		Timer timer = new Timer(milliseconds, new ActionListener() {
-			@Override
-			public void actionPerformed(final ActionEvent e) {
-				dialog.setVisible(false);
-				dialog.dispose();
-			}
-		});
-		timer.setRepeats(false);
-		timer.start();
-		dialog.setVisible(true);
+	/**
+	 * Change the message of the toast.
+	 * 
+	 * @param _message The contents of the label in the toast
+	 * @param _color   the color of the label in the toast
+	 */
+	void setMessage(String _message, Color _color) {
+		messageLabel.setText(_message);
+		messageLabel.setForeground(_color);
 	}
 
 	/**
@@ -87,8 +84,7 @@ public class Toast extends JDialog {
 			}
 		});
 
-		JLabel messageLabel = new JLabel(message);
-		messageLabel.setForeground(color);
+		messageLabel = new JLabel();
 		add(messageLabel);
 	}
 }